@@ -0,0 +1,26 @@
+package com.ssafy.dangdang.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 작성자 정보 전파용 executor
+     * 같은 유저가 연달아 정보를 바꿔도 나중 값이 먼저 반영되지 않도록 스레드 하나로 순서대로 처리한다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor profileSyncExecutor(@Value("${comment.writer-sync.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("profile-sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
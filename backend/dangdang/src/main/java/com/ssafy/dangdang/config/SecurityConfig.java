@@ -1,21 +1,24 @@
 package com.ssafy.dangdang.config;
 
+import com.ssafy.dangdang.config.security.BoundedPasswordEncoder;
 import com.ssafy.dangdang.config.security.CustomAccessDeniedHandler;
 import com.ssafy.dangdang.config.security.CustomAuthenticationEntryPoint;
 import com.ssafy.dangdang.config.security.auth.PrincipalDetailsService;
+import com.ssafy.dangdang.config.security.jwt.AccessTokenDenylist;
 import com.ssafy.dangdang.config.security.jwt.JwtAuthenticationFilter;
 import com.ssafy.dangdang.config.security.jwt.JwtAuthenticationProvider;
 import com.ssafy.dangdang.config.security.jwt.JwtAuthorizationFilter;
+import com.ssafy.dangdang.config.security.jwt.RefreshTokenStore;
 import com.ssafy.dangdang.config.security.oauth.HttpCookieOAuth2AuthorizationRequestRepository;
 import com.ssafy.dangdang.config.security.oauth.OAuth2AuthenticationFailureHandler;
 import com.ssafy.dangdang.config.security.oauth.OAuth2AuthenticationSuccessHandler;
 import com.ssafy.dangdang.config.security.oauth.PrincipalOauth2UserService;
 import com.ssafy.dangdang.repository.UserRepository;
 import com.ssafy.dangdang.util.JwtUtil;
-import com.ssafy.dangdang.util.RedisUtil;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.AccessDecisionManager;
@@ -50,7 +53,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final PrincipalOauth2UserService principalOauth2UserService;
 
     private final JwtUtil jwtUtil;
-    private final RedisUtil redisUtil;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenDenylist accessTokenDenylist;
 
     //자원 접근이 거부되었을 경우
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
@@ -167,18 +171,21 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() throws Exception {
-        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, redisUtil);
+        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtUtil, refreshTokenStore);
         jwtAuthenticationFilter.setAuthenticationManager(authenticationManagerBean());
         return jwtAuthenticationFilter;
     }
 
     @Bean
     public JwtAuthorizationFilter jwtAuthorizationFilter() throws Exception {
-        return new JwtAuthorizationFilter(authenticationManager(), principalDetailsService, jwtUtil, redisUtil);
+        return new JwtAuthorizationFilter(authenticationManager(), principalDetailsService, jwtUtil, refreshTokenStore, accessTokenDenylist);
     }
 
+    // BCrypt는 전용 스레드 풀에서 실행해서, 로그인이 몰려도 다른 API의 Tomcat 스레드를 잡아먹지 않게 한다.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.password-encoder.pool-size:4}") int poolSize,
+                                                  @Value("${security.password-encoder.queue-capacity:64}") int queueCapacity,
+                                                  @Value("${security.password-encoder.timeout-millis:3000}") long timeoutMillis) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, timeoutMillis);
     }
 }
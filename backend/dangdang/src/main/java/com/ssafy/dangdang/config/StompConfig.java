@@ -0,0 +1,72 @@
+package com.ssafy.dangdang.config;
+
+import com.ssafy.dangdang.domain.types.CommentType;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 댓글 실시간 반영용 STOMP 설정
+ * 클라이언트는 /ws-comment 로 연결해서 /topic/comment/{commentType}/{referenceId} 를 구독하고, 서버만 메세지를 보낸다.
+ * 브로커는 노드별 in-memory 브로커이고, 다른 노드에서 생긴 변경분은 CommentDeltaPublisher가 Redis pub/sub으로 받아서 보낸다.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class StompConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final Pattern COMMENT_TOPIC = Pattern.compile("^/topic/comment/([A-Z]+)/(\\d+)$");
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws-comment").setAllowedOrigins("http://localhost:3000", "http://localhost:3001", "http://localhost:80",
+                "https://i6c203.p.ssafy.io:3000", "http://i6c203.p.ssafy.io:3000", "https://i6c203.p.ssafy.io:3001",
+                "http://i6c203.p.ssafy.io:3001", "https://i6c203.p.ssafy.io:80", "http://i6c203.p.ssafy.io:80",
+                "http://i6c203.p.ssafy.io", "https://i6c203.p.ssafy.io").withSockJS();
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor == null || accessor.getCommand() == null) return message;
+                // 댓글 작성은 REST API로만 받고, 클라이언트가 다른 구독자에게 직접 보내지 못하게 막는다.
+                if (accessor.getCommand() == StompCommand.SEND)
+                    throw new MessagingException("댓글 토픽에는 메세지를 보낼 수 없습니다.");
+                if (accessor.getCommand() == StompCommand.SUBSCRIBE && !isCommentTopic(accessor.getDestination()))
+                    throw new MessagingException("구독할 수 없는 경로 입니다 : " + accessor.getDestination());
+                return message;
+            }
+        });
+    }
+
+    private static boolean isCommentTopic(String destination) {
+        if (destination == null) return false;
+        Matcher matcher = COMMENT_TOPIC.matcher(destination);
+        if (!matcher.matches()) return false;
+        for (CommentType type : CommentType.values()) {
+            if (type.name().equals(matcher.group(1))) return true;
+        }
+        return false;
+    }
+}
@@ -21,6 +21,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.service.StudyActivityBuffer;
 import org.kurento.client.IceCandidate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +35,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 
@@ -52,6 +55,12 @@ public class CallHandler extends TextWebSocketHandler {
   @Autowired
   private UserRegistry registry;
 
+  @Autowired
+  private StudyActivityBuffer studyActivityBuffer;
+
+  // 방 이름(스터디 id)별 첫 참여자가 입장한 시각, 마지막 참여자가 나가면 진행 시간을 누적한다.
+  private final ConcurrentMap<String, Long> roomStartedAt = new ConcurrentHashMap<>();
+
   @Override
   public void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
     final JsonObject jsonMessage = gson.fromJson(message.getPayload(), JsonObject.class);
@@ -104,8 +113,11 @@ public class CallHandler extends TextWebSocketHandler {
   @Override
   public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
     UserSession user = registry.removeBySession(session);
-    if(user != null)
-    roomManager.getRoom(user.getRoomName()).leave(user);
+    if(user != null) {
+      Room room = roomManager.getRoom(user.getRoomName());
+      room.leave(user);
+      recordStudyTime(room);
+    }
   }
 
   private void joinRoom(JsonObject params, WebSocketSession session) throws IOException {
@@ -126,16 +138,34 @@ public class CallHandler extends TextWebSocketHandler {
     }
     final UserSession user = room.join(name, session);
     registry.register(user); // user 생성해서 저장
+    roomStartedAt.putIfAbsent(roomName, System.currentTimeMillis());
+    studyActivityBuffer.recordAccess(toStudyId(roomName));
   }
 
   private void leaveRoom(UserSession user) throws IOException {
     final Room room = roomManager.getRoom(user.getRoomName());
     room.leave(user);
+    recordStudyTime(room);
     if (room.getParticipants().isEmpty()) {
       roomManager.removeRoom(room);
     }
   }
 
+  private void recordStudyTime(Room room) {
+    if (!room.getParticipants().isEmpty()) return;
+    Long startedAt = roomStartedAt.remove(room.getName());
+    if (startedAt != null) studyActivityBuffer.recordStudyTime(toStudyId(room.getName()), System.currentTimeMillis() - startedAt);
+  }
+
+  // 화상 스터디 방 이름은 스터디 id이다.
+  private Long toStudyId(String roomName) {
+    try {
+      return Long.valueOf(roomName);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
   private void sendMsg(UserSession user, JsonObject params, WebSocketSession session) throws IOException {
     String contents = params.get("contents").getAsString(); // 보내야 할 메세지
     log.info("문자 보낸 세션:" + session + " : " + contents);
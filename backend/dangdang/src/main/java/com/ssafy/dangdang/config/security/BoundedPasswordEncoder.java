@@ -0,0 +1,116 @@
+package com.ssafy.dangdang.config.security;
+
+import com.ssafy.dangdang.domain.dto.WorkerPoolStats;
+import com.ssafy.dangdang.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt 연산을 전용 스레드 풀에서 실행하는 PasswordEncoder
+ * 로그인/회원가입이 몰려도 BCrypt가 Tomcat 스레드의 CPU를 모두 점유하지 않도록 동시에 실행되는 해싱 수를 poolSize로 제한한다.
+ * 대기열이 가득 차면 바로 TooManyRequestsException을 던져서 요청을 429로 돌려보낸다.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0L);
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public WorkerPoolStats stats() {
+        long count = completed.sum();
+        return WorkerPoolStats.builder()
+                .poolSize(executor.getMaximumPoolSize())
+                .activeCount(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .completedCount(count)
+                .rejectedCount(rejected.sum())
+                .averageLatencyMillis(count == 0 ? 0 : totalLatencyNanos.sum() / (double) count / 1_000_000)
+                .maxLatencyMillis(TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit((Callable<T>) task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("password hash 대기열 초과 : queue {}/{}", executor.getQueue().size(), queueCapacity);
+            throw new TooManyRequestsException("요청이 많아 잠시 후 다시 시도해주세요.", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException("요청이 많아 잠시 후 다시 시도해주세요.", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("password hash 작업이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            if (future.isDone() && !future.isCancelled()) {
+                long elapsed = System.nanoTime() - start;
+                completed.increment();
+                totalLatencyNanos.add(elapsed);
+                maxLatencyNanos.accumulate(elapsed);
+            }
+        }
+    }
+}
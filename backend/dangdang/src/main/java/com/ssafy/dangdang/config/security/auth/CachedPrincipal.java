@@ -0,0 +1,55 @@
+package com.ssafy.dangdang.config.security.auth;
+
+import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.domain.types.UserRoleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 인가 과정에 필요한 User 컬럼만 담은 스냅샷
+ * 엔티티를 그대로 캐시하면 요청 간에 같은 인스턴스를 공유하게 되므로, 조회할 때마다 새 User를 만들어서 돌려준다.
+ * Redis 2차 캐시에는 이 객체를 JSON으로 저장한다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedPrincipal {
+
+    private Long id;
+    private String nickname;
+    private UserRoleType role;
+    private String email;
+    private String password;
+    private String imageUrl;
+    private String provider;
+    private String providerId;
+
+    public static CachedPrincipal of(User user) {
+        return CachedPrincipal.builder()
+                .id(user.getId())
+                .nickname(user.getNickname())
+                .role(user.getRole())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .imageUrl(user.getImageUrl())
+                .provider(user.getProvider())
+                .providerId(user.getProviderId())
+                .build();
+    }
+
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .nickname(nickname)
+                .role(role)
+                .email(email)
+                .password(password)
+                .imageUrl(imageUrl)
+                .provider(provider)
+                .providerId(providerId)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.ssafy.dangdang.config.security.auth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.dangdang.domain.event.UserChangedEvent;
+import com.ssafy.dangdang.util.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * loadUserByUsername 앞단의 인가용 유저 캐시
+ * L1: 프로세스 내 LRU(크기/TTL 제한), L2: Redis(선택, cache.principal.redis.enabled)
+ * 유저 정보가 바뀌면 UserChangedEvent를 받아 커밋 이후에 L1/L2를 지우고, 다른 노드의 L1은 pub/sub으로 지운다.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private static final String KEY_PREFIX = "principal:";
+    private static final String EVICT_CHANNEL = "principal:evict";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    private final ExpiringCache<String, CachedPrincipal> local;
+    private final long ttlMillis;
+    private final boolean redisEnabled;
+
+    public PrincipalCache(StringRedisTemplate stringRedisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          ObjectMapper objectMapper,
+                          @Value("${cache.principal.max-size:10000}") int maxSize,
+                          @Value("${cache.principal.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${cache.principal.redis.enabled:false}") boolean redisEnabled) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.local = new ExpiringCache<>(maxSize);
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.redisEnabled = redisEnabled;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(
+                (Message message, byte[] pattern) -> local.invalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /**
+     * L1 -> L2 -> loader(DB) 순서로 조회한다. loader가 null을 반환하면 캐시하지 않는다.
+     */
+    public CachedPrincipal get(String email, Supplier<CachedPrincipal> loader) {
+        CachedPrincipal cached = local.get(email);
+        if (cached != null) return cached;
+
+        if (redisEnabled) {
+            cached = readRedis(email);
+            if (cached != null) {
+                local.put(email, cached, System.currentTimeMillis() + ttlMillis);
+                return cached;
+            }
+        }
+
+        CachedPrincipal loaded = loader.get();
+        if (loaded == null) return null;
+        local.put(email, loaded, System.currentTimeMillis() + ttlMillis);
+        if (redisEnabled) writeRedis(email, loaded);
+        return loaded;
+    }
+
+    public void evict(String email) {
+        local.invalidate(email);
+        try {
+            if (redisEnabled) stringRedisTemplate.delete(KEY_PREFIX + email);
+            stringRedisTemplate.convertAndSend(EVICT_CHANNEL, email);
+        } catch (RuntimeException e) {
+            // Redis 장애 시에도 현재 노드의 L1은 이미 지워졌고, 다른 노드는 TTL 안에 만료된다.
+            log.warn("principal cache evict 전파 실패 : {}", email, e);
+        }
+    }
+
+    // 롤백되면 DB 값이 그대로이므로 커밋 이후에만 지운다. 트랜잭션 밖에서 발행된 경우 바로 지운다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        event.getEmails().forEach(this::evict);
+    }
+
+    private CachedPrincipal readRedis(String email) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + email);
+            return json == null ? null : objectMapper.readValue(json, CachedPrincipal.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("principal cache redis 조회 실패 : {}", email, e);
+            return null;
+        }
+    }
+
+    private void writeRedis(String email, CachedPrincipal principal) {
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + email,
+                    objectMapper.writeValueAsString(principal), Duration.ofMillis(ttlMillis));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("principal cache redis 저장 실패 : {}", email, e);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.ssafy.dangdang.config.security.auth;
 
-import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,7 +7,6 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
 
 @Service
 @Slf4j
@@ -16,15 +14,18 @@ import java.util.Optional;
 public class PrincipalDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public PrincipalDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> user = userRepository.findUserByEmail(username);
-        if(user.isEmpty()){
+        // 매 요청마다 DB를 조회하지 않도록 캐시를 먼저 확인한다. 캐시에서 나온 User는 준영속 상태이다.
+        CachedPrincipal principal = principalCache.get(username,
+                () -> userRepository.findUserByEmail(username).map(CachedPrincipal::of).orElse(null));
+        if(principal == null){
             throw new UsernameNotFoundException(username + " : 사용자 존재하지 않음");
         }
         // session.setAttribute("loginUser", user);
-        return new PrincipalDetails(user.get());
+        return new PrincipalDetails(principal.toUser());
     }
 
 
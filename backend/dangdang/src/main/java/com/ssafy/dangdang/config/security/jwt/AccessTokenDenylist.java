@@ -0,0 +1,111 @@
+package com.ssafy.dangdang.config.security.jwt;
+
+import com.ssafy.dangdang.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * 로그아웃 등으로 폐기된 access 토큰 목록
+ * Redis ZSET(member: 토큰 다이제스트, score: 토큰 만료 시각)에 영구 저장하고, 각 노드는 같은 내용을 Bloom filter로 들고 있는다.
+ * 요청마다 Bloom filter만 확인하고, 양성일 때만 Redis를 조회하므로 대부분의 요청은 Redis를 거치지 않는다.
+ * 다른 노드에서 추가된 토큰은 pub/sub으로 바로 반영하고, 주기적으로 Redis에서 다시 만들어서 만료된 토큰을 걸러낸다.
+ */
+@Slf4j
+@Component
+public class AccessTokenDenylist {
+
+    private static final String KEY = "denylist:access";
+    private static final String CHANNEL = "denylist:access";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+    // 재구성 중에 들어온 토큰을 새 필터에도 넣기 위해 보관한다.
+    private volatile BloomFilter rebuilding;
+
+    public AccessTokenDenylist(StringRedisTemplate stringRedisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${jwt.denylist.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(
+                (Message message, byte[] pattern) -> addLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+        rebuild();
+    }
+
+    public void revoke(VerifiedToken token) {
+        if (token.isExpired()) return;
+        // Redis에 먼저 저장해야 재구성 중인 필터가 이 토큰을 놓치지 않는다.
+        stringRedisTemplate.opsForZSet().add(KEY, token.getDigest(), token.getExpirationMillis());
+        addLocal(token.getDigest());
+        stringRedisTemplate.convertAndSend(CHANNEL, token.getDigest());
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (!current.mightContain(decode(token.getDigest()))) return false;
+        try {
+            Double score = stringRedisTemplate.opsForZSet().score(KEY, token.getDigest());
+            return score != null;
+        } catch (RuntimeException e) {
+            // Redis 장애 시에는 토큰 서명/만료 검증만으로 인가한다.
+            log.warn("access token denylist 조회 실패", e);
+            return false;
+        }
+    }
+
+    /**
+     * 만료된 토큰을 Redis에서 지우고, 남은 토큰으로 Bloom filter를 새로 만든다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.rebuild-interval-millis:300000}",
+            initialDelayString = "${jwt.denylist.rebuild-interval-millis:300000}")
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = next;
+        try {
+            stringRedisTemplate.opsForZSet().removeRangeByScore(KEY, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+            Set<String> digests = stringRedisTemplate.opsForZSet().range(KEY, 0, -1);
+            if (digests != null) digests.forEach(digest -> next.put(decode(digest)));
+            current = next;
+            log.debug("access token denylist 재구성 : {}건", digests == null ? 0 : digests.size());
+        } catch (RuntimeException e) {
+            log.warn("access token denylist 재구성 실패", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void addLocal(String digest) {
+        byte[] bytes = decode(digest);
+        // rebuilding을 먼저 읽는다. null이면 재구성이 아직 Redis를 읽기 전이거나 이미 교체가 끝난 상태이다.
+        BloomFilter next = rebuilding;
+        current.put(bytes);
+        if (next != null) next.put(bytes);
+    }
+
+    private static byte[] decode(String digest) {
+        return Base64.getUrlDecoder().decode(digest);
+    }
+}
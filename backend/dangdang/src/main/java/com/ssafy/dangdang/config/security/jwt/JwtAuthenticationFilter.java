@@ -4,11 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ssafy.dangdang.config.security.auth.PrincipalDetails;
 import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.LoginRequest;
+import com.ssafy.dangdang.util.ApiUtils;
 import com.ssafy.dangdang.util.JwtUtil;
-import com.ssafy.dangdang.util.RedisUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
@@ -24,11 +27,11 @@ public class JwtAuthenticationFilter extends AbstractAuthenticationProcessingFil
 
 
 	private final JwtUtil jwtUtil;
-	private final RedisUtil redisUtil;
-	public JwtAuthenticationFilter(JwtUtil jwtUtil, RedisUtil redisUtil){
+	private final RefreshTokenStore refreshTokenStore;
+	public JwtAuthenticationFilter(JwtUtil jwtUtil, RefreshTokenStore refreshTokenStore){
 		super(new AntPathRequestMatcher("/user/login"));
 		this.jwtUtil = jwtUtil;
-		this.redisUtil =redisUtil;
+		this.refreshTokenStore = refreshTokenStore;
 	}
 
 	// Authentication 객체 만들어서 리턴 => 의존 : AuthenticationManager
@@ -88,7 +91,7 @@ public class JwtAuthenticationFilter extends AbstractAuthenticationProcessingFil
 		String jwtToken = jwtUtil.generateToken(principalDetailis.getUsername());
 
 		String refreshJwtToken = jwtUtil.generateRefreshToken(principalDetailis.getUsername());
-		redisUtil.setDataExpire(refreshJwtToken, principalDetailis.getUsername(), JwtUtil.REFRESH_EXPIRATION_TIME);
+		refreshTokenStore.save(principalDetailis.getUsername(), refreshJwtToken);
 		log.debug(JwtUtil.HEADER_STRING +jwtToken);
 		log.debug(JwtUtil.REFRESH_HEADER_STRING + refreshJwtToken);
 
@@ -97,6 +100,23 @@ public class JwtAuthenticationFilter extends AbstractAuthenticationProcessingFil
 		///chain.doFilter(request, response);
 	}
 
+	// 비밀번호 검증 대기열이 가득 찬 경우에는 401 대신 429로 응답해서 클라이언트가 재시도할 수 있게 한다.
+	@Override
+	protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
+			AuthenticationException failed) throws IOException, ServletException {
+		if (!(failed instanceof LoginThrottledException)) {
+			super.unsuccessfulAuthentication(request, response, failed);
+			return;
+		}
+		log.warn("로그인 요청 과다로 거절 : {}", failed.getMessage());
+		SecurityContextHolder.clearContext();
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+		response.setContentType("application/json;charset=utf-8");
+		response.getWriter().print(new ObjectMapper().writeValueAsString(
+				ApiUtils.error(failed.getMessage(), HttpStatus.TOO_MANY_REQUESTS)));
+	}
+
 //	private Boolean containsAuthorizationToken(HttpServletRequest request) {
 //		String token = request.getHeader(HEADER_STRING);
 //		if (token != null) {
@@ -2,6 +2,7 @@ package com.ssafy.dangdang.config.security.jwt;
 
 import com.ssafy.dangdang.config.security.auth.PrincipalDetails;
 import com.ssafy.dangdang.config.security.auth.PrincipalDetailsService;
+import com.ssafy.dangdang.exception.TooManyRequestsException;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,7 +35,14 @@ public class JwtAuthenticationProvider  implements AuthenticationProvider {
         PrincipalDetails userDetails = principalDetailsService.loadUserByUsername(authentication.getPrincipal().toString());
 
 
-        if(!passwordEncoder.matches(authentication.getCredentials().toString(), userDetails.getPassword()))
+        boolean matches;
+        try {
+            matches = passwordEncoder.matches(authentication.getCredentials().toString(), userDetails.getPassword());
+        } catch (TooManyRequestsException e) {
+            // 인증 실패가 아니라 서버가 바쁜 경우이므로 별도 예외로 구분한다.
+            throw new LoginThrottledException(e.getMessage(), e);
+        }
+        if(!matches)
             throw new BadCredentialsException("비밀번호가 틀립니다.");
         log.debug("userAuthorities {}", userDetails.getAuthorities());
         return new JwtAuthenticationToken(userDetails.getUser(),null,userDetails.getAuthorities());
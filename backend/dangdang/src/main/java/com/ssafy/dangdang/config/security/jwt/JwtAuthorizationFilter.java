@@ -3,7 +3,6 @@ package com.ssafy.dangdang.config.security.jwt;
 import com.ssafy.dangdang.config.security.auth.PrincipalDetails;
 import com.ssafy.dangdang.config.security.auth.PrincipalDetailsService;
 import com.ssafy.dangdang.util.JwtUtil;
-import com.ssafy.dangdang.util.RedisUtil;
 import io.jsonwebtoken.ExpiredJwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,13 +23,15 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 
 	private final PrincipalDetailsService principalDetailsService;
 	private final JwtUtil jwtUtil;
-	private final RedisUtil redisUtil;
+	private final RefreshTokenStore refreshTokenStore;
+	private final AccessTokenDenylist accessTokenDenylist;
 
-	public JwtAuthorizationFilter(AuthenticationManager authenticationManager, PrincipalDetailsService principalDetailsService, JwtUtil jwtUtil, RedisUtil redisUtil) {
+	public JwtAuthorizationFilter(AuthenticationManager authenticationManager, PrincipalDetailsService principalDetailsService, JwtUtil jwtUtil, RefreshTokenStore refreshTokenStore, AccessTokenDenylist accessTokenDenylist) {
 		super(authenticationManager);
 		this.principalDetailsService = principalDetailsService;
 		this.jwtUtil = jwtUtil;
-		this.redisUtil = redisUtil;
+		this.refreshTokenStore = refreshTokenStore;
+		this.accessTokenDenylist = accessTokenDenylist;
 	}
 
 	@Override
@@ -53,13 +54,15 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 		}
 		try {
 		String token = request.getHeader(JwtUtil.HEADER_STRING).replace(JwtUtil.TOKEN_PREFIX, "");
+			// 토큰은 한 번만 파싱/검증하고, 이미 검증된 토큰은 캐시에서 꺼낸다.
 			//만료되었다면 ExpiredJwtException을 던진다.
-		String username = jwtUtil.getUsername(token);
-		System.out.println("userNAME"+username);
+		VerifiedToken verifiedToken = jwtUtil.verify(token);
+		String username = verifiedToken.getUsername();
 			// 토큰 검증 (이게 인증이기 때문에 AuthenticationManager도 필요 없음)
-			if(username != null) {
+			// 로그아웃으로 폐기된 토큰이면 인가하지 않는다.
+			if(username != null && !accessTokenDenylist.isRevoked(verifiedToken)) {
 				PrincipalDetails userDetails = principalDetailsService.loadUserByUsername(username);
-				if (jwtUtil.validateToken(token, userDetails)) {
+				if (jwtUtil.validateToken(verifiedToken, userDetails)) {
 					// 인증은 토큰 검증시 끝. 인증을 하기 위해서가 아닌 스프링 시큐리티가 수행해주는 권한 처리를 위해
 					// 아래와 같이 토큰을 만들어서 Authentication 객체를 강제로 만들고 그걸 세션에 저장!
 					// 인가의 과정이기 때문에, 비밀번호 필요 없음
@@ -80,9 +83,10 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 		try {
 			if(refreshToken != null && jwtExpired){
 
-				refreshUsername = redisUtil.getData(refreshToken);
-				//토큰 검증
-				if(refreshUsername.equals(jwtUtil.getUsername(refreshToken))){
+				refreshUsername = jwtUtil.verify(refreshToken).getUsername();
+				// refresh 토큰도 재발급(rotation)한다. 저장소에 등록된 유효한 토큰일 때만 교체에 성공한다.
+				String newRefreshToken = refreshUsername != null ? jwtUtil.generateRefreshToken(refreshUsername) : null;
+				if(newRefreshToken != null && refreshTokenStore.rotate(refreshUsername, refreshToken, newRefreshToken)){
 					//refreshToken을 이용한 검증을 통과하면 인가
 					PrincipalDetails userDetails = principalDetailsService.loadUserByUsername(refreshUsername);
 					// 인가의 과정이기 때문에, 비밀번호 필요 없음
@@ -94,6 +98,7 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 					//refreshToken을 이용해서 access token 재발급
 					String newJwtToken = jwtUtil.generateToken(refreshUsername);
 					response.addHeader(JwtUtil.HEADER_STRING, JwtUtil.TOKEN_PREFIX+newJwtToken);
+					response.addHeader(JwtUtil.REFRESH_HEADER_STRING, JwtUtil.REFRESH_TOKEN_PREFIX+newRefreshToken);
 				}
 			}
 
@@ -0,0 +1,13 @@
+package com.ssafy.dangdang.config.security.jwt;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * 비밀번호 검증 대기열이 가득 차서 로그인을 처리하지 못한 경우
+ * 인증 실패(401)와 구분해서 JwtAuthenticationFilter가 429로 응답한다.
+ */
+public class LoginThrottledException extends AuthenticationServiceException {
+    public LoginThrottledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
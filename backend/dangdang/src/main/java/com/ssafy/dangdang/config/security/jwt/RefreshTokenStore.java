@@ -0,0 +1,107 @@
+package com.ssafy.dangdang.config.security.jwt;
+
+import com.ssafy.dangdang.util.HashUtil;
+import com.ssafy.dangdang.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * 유저별 Refresh 토큰 저장소
+ * refresh:{email} 하나의 ZSET에 토큰 원문 대신 SHA-256 다이제스트(43byte)를 member로, 토큰 만료 시각을 score로 저장한다.
+ *  - 저장할 때 만료된 토큰을 정리하고, 유저당 세션 수를 maxSessions 개로 제한한다. (가장 먼저 만료되는 세션부터 제거)
+ *  - 키의 TTL은 가장 늦게 만료되는 토큰에 맞추므로, 로그인하지 않는 유저의 키는 자동으로 사라진다.
+ *  - 전체 로그아웃은 DEL 한 번으로 끝난다.
+ * 여러 명령이 하나의 원자적 단위로 실행되어야 하므로 Lua 스크립트로 한 번의 왕복에 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    private static final String KEY_PREFIX = "refresh:";
+
+    // KEYS[1] = refresh:{email}, ARGV = [tokenId, expiresAt, now, maxSessions]
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3]) " +
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) " +
+            "local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[4]) " +
+            "if overflow > 0 then redis.call('ZREMRANGEBYRANK', KEYS[1], 0, overflow - 1) end " +
+            "local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES') " +
+            "if last[2] then redis.call('PEXPIREAT', KEYS[1], last[2]) end " +
+            "return redis.call('ZCARD', KEYS[1])", Long.class);
+
+    // KEYS[1] = refresh:{email}, ARGV = [oldId, newId, newExpiresAt, now, graceUntil, maxSessions]
+    // 이전 토큰이 유효하면 새 토큰을 등록하고, 이전 토큰은 짧은 유예 시간 뒤에 만료되도록 score를 줄인다.
+    // (만료된 access 토큰으로 동시에 여러 요청이 들어와도 모두 재발급 받을 수 있도록)
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local score = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "if (not score) or tonumber(score) <= tonumber(ARGV[4]) then return 0 end " +
+            "if tonumber(score) > tonumber(ARGV[5]) then redis.call('ZADD', KEYS[1], ARGV[5], ARGV[1]) end " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[4]) " +
+            "redis.call('ZADD', KEYS[1], ARGV[3], ARGV[2]) " +
+            "local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[6]) " +
+            "if overflow > 0 then redis.call('ZREMRANGEBYRANK', KEYS[1], 0, overflow - 1) end " +
+            "local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES') " +
+            "if last[2] then redis.call('PEXPIREAT', KEYS[1], last[2]) end " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.refresh.max-sessions:10}")
+    private int maxSessions;
+
+    @Value("${jwt.refresh.rotation-grace-millis:10000}")
+    private long rotationGraceMillis;
+
+    /**
+     * 로그인 시 발급한 refresh 토큰을 등록한다.
+     */
+    public void save(String username, String refreshToken) {
+        VerifiedToken token = jwtUtil.verify(refreshToken);
+        stringRedisTemplate.execute(SAVE_SCRIPT, Collections.singletonList(key(username)),
+                token.getDigest(),
+                String.valueOf(token.getExpirationMillis()),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(maxSessions));
+    }
+
+    /**
+     * 이전 refresh 토큰이 등록되어 있고 유효할 때만 새 토큰으로 교체한다.
+     * @return 교체에 성공하면 true, 이미 폐기되었거나 만료된 토큰이면 false
+     */
+    public boolean rotate(String username, String oldRefreshToken, String newRefreshToken) {
+        VerifiedToken newToken = jwtUtil.verify(newRefreshToken);
+        long now = System.currentTimeMillis();
+        Long rotated = stringRedisTemplate.execute(ROTATE_SCRIPT, Collections.singletonList(key(username)),
+                HashUtil.sha256(oldRefreshToken),
+                newToken.getDigest(),
+                String.valueOf(newToken.getExpirationMillis()),
+                String.valueOf(now),
+                String.valueOf(now + rotationGraceMillis),
+                String.valueOf(maxSessions));
+        return rotated != null && rotated == 1L;
+    }
+
+    public void revoke(String username, String refreshToken) {
+        stringRedisTemplate.opsForZSet().remove(key(username), HashUtil.sha256(refreshToken));
+    }
+
+    /**
+     * 유저의 모든 세션을 한 번에 폐기한다.
+     */
+    public void revokeAll(String username) {
+        stringRedisTemplate.delete(key(username));
+    }
+
+    private String key(String username) {
+        return KEY_PREFIX + username;
+    }
+}
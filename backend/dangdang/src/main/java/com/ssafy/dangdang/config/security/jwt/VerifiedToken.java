@@ -0,0 +1,47 @@
+package com.ssafy.dangdang.config.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 서명 검증이 끝난 JWT의 불변 클레임 뷰
+ * 한 번 파싱한 결과를 필터 안에서 재사용하고, 검증 캐시에 그대로 보관한다.
+ */
+@Getter
+public final class VerifiedToken {
+
+    // 토큰 원문의 SHA-256 다이제스트, 캐시 및 Redis 키로 사용
+    private final String digest;
+    private final String username;
+    private final long issuedAtMillis;
+    private final long expirationMillis;
+
+    public VerifiedToken(String digest, String username, long issuedAtMillis, long expirationMillis) {
+        this.digest = digest;
+        this.username = username;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expirationMillis = expirationMillis;
+    }
+
+    public static VerifiedToken of(String digest, Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return new VerifiedToken(digest,
+                claims.get("username", String.class),
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                claims.getExpiration().getTime());
+    }
+
+    public boolean isExpired() {
+        return expirationMillis <= System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedToken{" +
+                "username='" + username + '\'' +
+                ", expiration=" + new Date(expirationMillis) +
+                '}';
+    }
+}
@@ -1,10 +1,10 @@
 package com.ssafy.dangdang.config.security.oauth;
 
 import com.ssafy.dangdang.config.security.auth.PrincipalDetails;
+import com.ssafy.dangdang.config.security.jwt.RefreshTokenStore;
 import com.ssafy.dangdang.exception.BadRequestException;
 import com.ssafy.dangdang.util.CookieUtils;
 import com.ssafy.dangdang.util.JwtUtil;
-import com.ssafy.dangdang.util.RedisUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -29,7 +29,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
     public static final String REDIRECT_URI = "redirect_uri";
     private final JwtUtil jwtUtil;
-    private final RedisUtil redisUtil;
+    private final RefreshTokenStore refreshTokenStore;
     private final HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRequestRepository;
 
     @Override
@@ -64,7 +64,7 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         String jwtToken = jwtUtil.generateToken(principalDetailis.getUsername());
 
         String refreshJwtToken = jwtUtil.generateRefreshToken(principalDetailis.getUsername());
-        redisUtil.setDataExpire(refreshJwtToken, principalDetailis.getUsername(), JwtUtil.REFRESH_EXPIRATION_TIME);
+        refreshTokenStore.save(principalDetailis.getUsername(), refreshJwtToken);
 
         response.addHeader(JwtUtil.HEADER_STRING, JwtUtil.TOKEN_PREFIX+jwtToken);
         response.addHeader(JwtUtil.REFRESH_HEADER_STRING, JwtUtil.REFRESH_TOKEN_PREFIX+refreshJwtToken);
@@ -1,10 +1,16 @@
 package com.ssafy.dangdang.controller;
 
+import com.ssafy.dangdang.config.security.BoundedPasswordEncoder;
 import com.ssafy.dangdang.domain.dto.InterviewQuestionDto;
+import com.ssafy.dangdang.domain.dto.TtsWarmReport;
 import com.ssafy.dangdang.domain.dto.UserDto;
+import com.ssafy.dangdang.domain.dto.WorkerPoolStats;
 import com.ssafy.dangdang.domain.dto.WriteInterview;
+import com.ssafy.dangdang.domain.types.InterviewField;
+import com.ssafy.dangdang.domain.types.InterviewJob;
 import com.ssafy.dangdang.service.InterviewQuestionService;
 import com.ssafy.dangdang.service.UserService;
+import com.ssafy.dangdang.service.tts.TtsPreSynthesizer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -26,6 +32,39 @@ public class AdminController {
 
     private final UserService userService;
     private final InterviewQuestionService interviewQuestionService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TtsPreSynthesizer ttsPreSynthesizer;
+
+    @Operation(summary = "비밀번호 해싱 스레드 풀 상태 조회", description = "대기열 길이, 거절 수, 해싱 지연 시간을 조회합니다.")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    @GetMapping("/metrics/password-encoder")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResult<WorkerPoolStats> passwordEncoderStats(){
+        return success(passwordEncoder.stats());
+    }
+
+    @Operation(summary = "면접 질문 음성 미리 합성 스레드 풀 상태 조회", description = "대기열 길이, 거절/실패 수, 합성 지연 시간을 조회합니다.")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    @GetMapping("/metrics/tts-pre-synthesis")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResult<WorkerPoolStats> ttsPreSynthesisStats(){
+        return success(ttsPreSynthesizer.stats());
+    }
+
+    @Operation(summary = "면접 질문 음성 미리 합성", description = "공개된 면접 질문 중 필드/직무에 해당하는 질문의 음성을 미리 합성합니다. 지정하지 않으면 전체가 대상입니다.")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "합성 대기열 등록 성공")
+    })
+    @PostMapping("/tts/warm")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ApiResult<TtsWarmReport> warmTts(@RequestParam(required = false) InterviewField field,
+                                            @RequestParam(required = false) InterviewJob job){
+        return success(ttsPreSynthesizer.warm(field, job));
+    }
 
     @Operation(summary = "모든 유저 조회(ADMIN 제외)")
     @ApiResponses( value = {
@@ -1,19 +1,17 @@
 package com.ssafy.dangdang.controller;
 
 import com.ssafy.dangdang.domain.dto.VoiceText;
-import com.ssafy.dangdang.util.ApiUtils;
+import com.ssafy.dangdang.exception.BadRequestException;
+import com.ssafy.dangdang.service.tts.TtsAudioStreamer;
 
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.*;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api")
@@ -21,43 +19,25 @@ import java.nio.charset.StandardCharsets;
 @Slf4j
 public class ApiController {
 
-    static final String KAKAO_TTS = "https://kakaoi-newtone-openapi.kakao.com/v1/synthesize";
+    private final TtsAudioStreamer ttsAudioStreamer;
 
-    @Operation(summary = "카카오 TTS 호출")
+    @Operation(summary = "카카오 TTS 호출", description = "같은 텍스트는 캐시된 음성 파일을 반환")
 
     @PostMapping(value = "/tts")
-    public byte[] callTTS(@RequestBody VoiceText voiceText, HttpServletResponse response) throws ParserConfigurationException, TransformerException {
-        String text = voiceText.getText();
-        log.info("text : {}", text);
-        RestTemplate rt = new RestTemplate();
-
-        // Header 및 Body 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "KakaoAK c420902bf013e6a215efef159a46af41");
-        headers.setContentType(MediaType.APPLICATION_XML);
-        log.info("text : {}", text);
-        String value = "<speak><voice name=\"MAN_READ_CALM\">" + text + "</voice></speak>";
-        log.info(value);
-        value = new String(value.getBytes(), StandardCharsets.ISO_8859_1);
-        log.info(value);
-        // 설정한 Header와 Body를 가진 HttpEntity 객체 생성
-        HttpEntity<String> entity = new HttpEntity<>(value,  headers);
-        ResponseEntity<String> res = rt.exchange(KAKAO_TTS, HttpMethod.POST, entity, String.class);
-
-        log.info("status : ");
-        log.info("status : " + res.getStatusCode());
-        log.info("status : " + res.getHeaders());
-        for ( String key:
-             res.getHeaders().keySet()) {
-            if (key.equals("Access-Control-Allow-Origin")) continue;
-            response.setHeader(key, String.valueOf(res.getHeaders().get(key)));
-        }
-
-        //response.setHeader("Access-Control-Allow-Origin", "http://localhost:3000, https://localhost:3001");
-
-        byte [] bytes = res.getBody().getBytes(StandardCharsets.UTF_8);
-
-        return bytes;
+    public void callTTS(@RequestBody VoiceText voiceText, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamTTS(voiceText.getText(), request, response);
+    }
+
+    @Operation(summary = "카카오 TTS 호출 (audio 태그용)", description = "Range 요청을 지원하므로 audio 태그의 src로 바로 사용할 수 있다")
+    @GetMapping(value = "/tts")
+    public void getTTS(@RequestParam String text, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamTTS(text, request, response);
+    }
+
+    private void streamTTS(String text, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (text == null || text.trim().isEmpty()) throw new BadRequestException("텍스트를 입력해주세요.");
+        log.debug("text : {}", text);
+        ttsAudioStreamer.stream(text, request, response);
     }
 
 }
@@ -7,8 +7,10 @@ import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.InterviewQuestionDto;
 import com.ssafy.dangdang.domain.dto.WriteInterview;
 import com.ssafy.dangdang.service.InterviewBookmarkService;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import com.ssafy.dangdang.service.InterviewQuestionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +22,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.ssafy.dangdang.util.ApiUtils.*;
@@ -61,6 +64,19 @@ public class InterviewQuestionController {
         return success(interviewQuestionService.getAllVisableInterviewQustion(writer, pageable));
     }
 
+    @Operation(summary = "면접 질문 커서 조회", description= "모든 면접 질문 조회와 같은 조건으로, 최신순으로 cursor 다음 면접 질문을 조회합니다. 전체 개수는 조회하지 않습니다.")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "면접 질문 커서 조회 성공")
+    })
+    @GetMapping("/scroll")
+    public ApiResult<CursorSlice<InterviewQuestionDto>> scrollVisableInterviewQustion(@CurrentUser PrincipalDetails userPrincipal,
+                                                                                      @RequestParam(required = false) @Parameter(description = "이전 응답의 nextCursor, 첫 페이지는 비워둔다") String cursor,
+                                                                                      @RequestParam(defaultValue = "20") @Parameter(description = "한 번에 조회할 개수", example = "20") int size){
+        User writer = null;
+        if (userPrincipal != null) writer = userPrincipal.getUser();
+        return success(interviewQuestionService.scrollVisableInterviewQustion(writer, cursor, size));
+    }
+
     @Operation(summary = "면접 질문 검색", description= "카테고리, 제목, 내용을 이용하여 검색, 파라미터에 담지 않는 값은 적용되지 않음")
     @ApiResponses( value = {
             @ApiResponse(responseCode = "200", description = "면접 질문 검색 성공")
@@ -146,6 +162,18 @@ public class InterviewQuestionController {
         return success("Bookmark 삭제 성공!");
     }
 
+    @Operation(summary = "면접 질문 북마크 여부 조회", description = "한 페이지의 면접 질문 id들을 받아 질문마다 북마크 여부를 반환")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "면접 질문 북마크 여부 조회 성공")
+    })
+    @GetMapping("/bookmark/flags")
+    @PreAuthorize("hasRole('USER')")
+    public ApiResult<Map<Long, Boolean>> getBookmarkFlags(
+            @CurrentUser PrincipalDetails userPrincipal,
+            @RequestParam List<Long> ids){
+        return success(bookmarkService.getBookmarkFlags(userPrincipal.getUser(), ids));
+    }
+
     @Operation(summary = "면접 질문 북마크 조회")
     @ApiResponses( value = {
             @ApiResponse(responseCode = "200", description = "면접 질문 북마크 조회 성공")
@@ -9,8 +9,10 @@ import com.ssafy.dangdang.domain.dto.WriteComment;
 import com.ssafy.dangdang.domain.dto.WritePost;
 import com.ssafy.dangdang.domain.types.CommentType;
 import com.ssafy.dangdang.service.CommentService;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import com.ssafy.dangdang.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +24,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.ssafy.dangdang.util.ApiUtils.*;
 
@@ -44,9 +49,10 @@ public class PostController {
     @GetMapping("/{studyId}/post/{postId}")
     public ApiResult<PostDto> getPost(@CurrentUser PrincipalDetails userPrincipal,
                                         @PathVariable Long postId, @ParameterObject Pageable pageable){
-        Page<CommentDto> comments = commentService.findCommentByReferenceIdWithPage(postId, CommentType.POST,pageable);
         PostDto postDto = postService.findPostDtoById(postId);
+        Page<CommentDto> comments = commentService.findCommentByReferenceIdWithPage(postId, CommentType.POST,pageable);
         postDto.setComments(comments);
+        postDto.setCommentCount(commentService.countComments(CommentType.POST, postId));
         return success(postDto);
 
     }
@@ -57,8 +63,30 @@ public class PostController {
     @GetMapping("/{studyId}/post")
     public ApiResult<Page<PostDto>> getAllPost(@CurrentUser PrincipalDetails userPrincipal,
                                               @PathVariable Long studyId, @ParameterObject  Pageable pageable){
-        return success(postService.getAllPost(studyId, pageable));
+        Page<PostDto> posts = postService.getAllPost(studyId, pageable);
+        setCommentCounts(posts.getContent());
+        return success(posts);
+
+    }
+
+    @Operation(summary = "스터디 게시글 커서 조회", description = "작성일 최신순으로 cursor 다음 게시글을 조회합니다. 전체 개수는 조회하지 않습니다.")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "게시글 커서 조회 성공")
+    })
+    @GetMapping("/{studyId}/post/scroll")
+    public ApiResult<CursorSlice<PostDto>> scrollPost(@PathVariable Long studyId,
+                                                      @RequestParam(required = false) @Parameter(description = "이전 응답의 nextCursor, 첫 페이지는 비워둔다") String cursor,
+                                                      @RequestParam(defaultValue = "20") @Parameter(description = "한 번에 조회할 개수", example = "20") int size){
+        CursorSlice<PostDto> posts = postService.scrollPost(studyId, cursor, size);
+        setCommentCounts(posts.getContent());
+        return success(posts);
+    }
 
+    // 목록의 댓글 수는 게시글 id들로 한 번에 조회한다.
+    private void setCommentCounts(List<PostDto> posts) {
+        Map<Long, Long> counts = commentService.countComments(CommentType.POST,
+                posts.stream().map(PostDto::getId).collect(Collectors.toList()));
+        for (PostDto post : posts) post.setCommentCount(counts.getOrDefault(post.getId(), 0L));
     }
 
     @Operation(summary = "게시글 작성")
@@ -18,6 +18,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.ssafy.dangdang.util.ApiUtils.*;
 
@@ -41,9 +43,12 @@ public class ResumeController {
                                                  @PathVariable Long userId,
                                                  @ParameterObject Pageable pageable){
         List<ResumeDto> resumes = resumeService.getResumes(userId, studyId);
+        Map<Long, Long> commentCounts = commentService.countComments(CommentType.RESUME,
+                resumes.stream().map(ResumeDto::getId).collect(Collectors.toList()));
         for (ResumeDto resumeDto : resumes){
             Page<CommentDto> comments = commentService.findCommentByReferenceIdWithPage(resumeDto.getId(), CommentType.RESUME,pageable);
             resumeDto.setCommentDtos(comments);
+            resumeDto.setCommentCount(commentCounts.getOrDefault(resumeDto.getId(), 0L));
         }
 
         System.out.println(resumes);
@@ -8,6 +8,7 @@ import com.ssafy.dangdang.domain.dto.MakeStudy;
 import com.ssafy.dangdang.domain.dto.StudyDto;
 import com.ssafy.dangdang.domain.dto.WriteComment;
 import com.ssafy.dangdang.domain.types.CommentType;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import com.ssafy.dangdang.service.CommentService;
 import com.ssafy.dangdang.service.StorageService;
 import com.ssafy.dangdang.service.StudyService;
@@ -54,12 +55,34 @@ public class StudyController {
     public ApiResult<Page<StudyDto>> getAllStudies(@RequestParam(required = false)
                                                        @Parameter(description = "해쉬태그를 이용해서 검색할 시 적용")
                                                                List<String> hashtags,
+                                                   @RequestParam(required = false, defaultValue = "false")
+                                                   @Parameter(description = "true면 모든 해쉬태그를 가진 스터디만, false면 하나라도 가진 스터디를 조회")
+                                                               boolean matchAll,
                                                    @ParameterObject Pageable pageable){
-        Page<StudyDto> allStudies = studyService.getAllStudies(hashtags, pageable);
+        Page<StudyDto> allStudies = studyService.getAllStudies(hashtags, matchAll, pageable);
 
         return  success(allStudies);
     }
 
+    @Operation(summary = "스터디 커서 조회", description = "cursor 다음 스터디를 조회합니다. 무한 스크롤용으로 전체 개수는 조회하지 않습니다.")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "스터디 커서 조회 성공")
+    })
+    @GetMapping("/scroll")
+    public ApiResult<CursorSlice<StudyDto>> scrollStudies(@RequestParam(required = false)
+                                                          @Parameter(description = "해쉬태그를 이용해서 검색할 시 적용")
+                                                                  List<String> hashtags,
+                                                          @RequestParam(required = false, defaultValue = "false")
+                                                          @Parameter(description = "true면 모든 해쉬태그를 가진 스터디만, false면 하나라도 가진 스터디를 조회")
+                                                                  boolean matchAll,
+                                                          @RequestParam(defaultValue = "id")
+                                                          @Parameter(description = "정렬 기준, id(최신 생성순) 또는 lastAccessTime(최근 진행순)", example = "id")
+                                                                  String sort,
+                                                          @RequestParam(required = false) @Parameter(description = "이전 응답의 nextCursor, 첫 페이지는 비워둔다") String cursor,
+                                                          @RequestParam(defaultValue = "20") @Parameter(description = "한 번에 조회할 개수", example = "20") int size){
+        return success(studyService.scrollStudies(hashtags, matchAll, sort, cursor, size));
+    }
+
     @Operation(summary = "스터디 단일 조회")
     @ApiResponses( value = {
             @ApiResponse(responseCode = "200", description = "스터디 단일 조회 성공")
@@ -3,14 +3,18 @@ package com.ssafy.dangdang.controller;
 import com.ssafy.dangdang.config.security.CurrentUser;
 import com.ssafy.dangdang.config.security.auth.PrincipalDetails;
 import com.ssafy.dangdang.config.security.auth.PrincipalDetailsService;
+import com.ssafy.dangdang.config.security.jwt.AccessTokenDenylist;
+import com.ssafy.dangdang.config.security.jwt.RefreshTokenStore;
 import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.LoginRequest;
+import com.ssafy.dangdang.domain.dto.ProfileSyncStatus;
 import com.ssafy.dangdang.domain.dto.SignUp;
 import com.ssafy.dangdang.domain.dto.UserDto;
+import com.ssafy.dangdang.service.CommentWriterSync;
 import com.ssafy.dangdang.service.StorageService;
 import com.ssafy.dangdang.service.UserService;
 import com.ssafy.dangdang.util.JwtUtil;
-import com.ssafy.dangdang.util.RedisUtil;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -44,7 +48,9 @@ public class UserController {
     private final UserService userService;
     private final StorageService storageService;
     private final JwtUtil jwtUtil;
-    private final RedisUtil redisUtil;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final CommentWriterSync commentWriterSync;
 
     @Operation(summary = "유저 정보 조회", description = "header에 있는 AuthenticationToken으로," +
             " 로그인한 유저의 정보를 조회합니다. 토큰이 없다면 로그인하는 과정이 필요합니다.")
@@ -61,6 +67,17 @@ public class UserController {
 
     }
 
+    @Operation(summary = "작성자 정보 전파 상태 조회", description = "닉네임/이메일/프로필 이미지를 바꾼 뒤," +
+            " 작성한 댓글에 바뀐 정보가 얼마나 반영되었는지 조회합니다.")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "전파 상태 조회 성공")
+    })
+    @GetMapping("/profile-sync")
+    @PreAuthorize("hasRole('USER')")
+    public ApiResult<ProfileSyncStatus> getProfileSyncStatus(@CurrentUser PrincipalDetails userPrincipal) {
+        return success(commentWriterSync.status(userPrincipal.getUser()));
+    }
+
     @Operation(summary = "회원가입 요청")
     @ApiResponses( value = {
             @ApiResponse(responseCode = "200", description = "회원 가입 성공")
@@ -164,10 +181,38 @@ public class UserController {
     @PostMapping("/logout")
     public ApiResult<String> logout(@CurrentUser PrincipalDetails userPrincipal, HttpServletRequest request) {
         log.info("Logout 요청");
-        redisUtil.deleteData(request.getHeader(JwtUtil.REFRESH_HEADER_STRING));
+        String refreshHeader = request.getHeader(JwtUtil.REFRESH_HEADER_STRING);
+        if (refreshHeader != null && refreshHeader.startsWith(JwtUtil.REFRESH_TOKEN_PREFIX)) {
+            refreshTokenStore.revoke(userPrincipal.getUsername(), refreshHeader.replace(JwtUtil.REFRESH_TOKEN_PREFIX, ""));
+        }
+        revokeAccessToken(request);
         return success("로그아웃 성공");
     }
 
+    @Operation(summary = "모든 기기에서 로그아웃 요청", description = "로그인한 유저의 모든 refresh 토큰을 폐기합니다.")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "전체 로그아웃 성공")
+    })
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping("/logout/all")
+    public ApiResult<String> logoutAll(@CurrentUser PrincipalDetails userPrincipal, HttpServletRequest request) {
+        log.info("전체 Logout 요청");
+        refreshTokenStore.revokeAll(userPrincipal.getUsername());
+        revokeAccessToken(request);
+        return success("전체 로그아웃 성공");
+    }
+
+    // 요청에 사용된 access 토큰을 denylist에 올려서 만료 전이라도 더 이상 사용할 수 없게 한다.
+    private void revokeAccessToken(HttpServletRequest request) {
+        String header = request.getHeader(JwtUtil.HEADER_STRING);
+        if (header == null || !header.startsWith(JwtUtil.TOKEN_PREFIX)) return;
+        try {
+            accessTokenDenylist.revoke(jwtUtil.verify(header.replace(JwtUtil.TOKEN_PREFIX, "")));
+        } catch (ExpiredJwtException e) {
+            // 이미 만료된 토큰은 폐기할 필요가 없다.
+        }
+    }
+
     @GetMapping("/test")
     public void test(){
         throw new NullPointerException();
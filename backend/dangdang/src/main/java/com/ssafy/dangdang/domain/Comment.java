@@ -6,6 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -21,6 +25,13 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document
+// 인덱스는 CommentIndexManager가 시작할 때 선언과 비교해서 만든다.
+@CompoundIndexes({
+        // 게시글/스터디/자소서별 최상위 댓글 목록, 참조 단위 삭제
+        @CompoundIndex(name = "reference_depth_createdAt", def = "{'referenceId': 1, 'commentType': 1, 'depth': 1, 'createdAt': 1}"),
+        // 최상위 댓글들의 답글을 작성 순으로 한 번에 조회
+        @CompoundIndex(name = "rootId_createdAt", def = "{'rootId': 1, 'createdAt': 1}")
+})
 public class Comment {
 
     @Id
@@ -47,6 +58,8 @@ public class Comment {
 
     //    @ManyToOne(fetch = FetchType.LAZY)
 //    @JoinColumn(name = "writer")
+    // 작성자 정보 전파, 탈퇴한 유저의 댓글 삭제/숨김
+    @Indexed(name = "writerId")
     private Long writerId;
     private String writerNickname;
 
@@ -65,12 +78,25 @@ public class Comment {
     private String writerEmail;
     private String writerImageUrl;
 
+    // 트리 조회는 rootId/ancestors로 한 번에 하므로, 답글 참조는 필요할 때만 읽는다.
 //    @ManyToOne(fetch = FetchType.LAZY)
 //    @JoinColumn(name = "Children_id")
-    @DBRef
+    @DBRef(lazy = true)
     @Builder.Default
     private List<Comment> children = new ArrayList<>();
 
+    // 바로 아래 답글 수, 답글을 쓰고 지울 때 $inc로 갱신한다.
+    @Builder.Default
+    private Integer replyCount = 0;
+
+    // 최상위 댓글의 id, 최상위 댓글은 자기 자신의 id
+    private String rootId;
+
+    // 최상위 댓글부터 부모 댓글까지의 id 경로, 하위 트리를 지울 때 조회한다.
+    @Indexed(name = "ancestors")
+    @Builder.Default
+    private List<String> ancestors = new ArrayList<>();
+
     private Boolean visable;
 
 //    @OneToMany(mappedBy = "Children", orphanRemoval = true)
@@ -161,6 +187,33 @@ public class Comment {
     }
 
 
+    /**
+     * 새 댓글의 트리 위치를 정한다. parent가 null이면 최상위 댓글
+     * rootId에 자기 id를 넣어야 하므로 저장 전에 id를 미리 만든다.
+     */
+    public void placeUnder(Comment parent){
+        if (this.id == null) this.id = new ObjectId().toHexString();
+        this.ancestors = new ArrayList<>();
+        if (parent == null) {
+            this.rootId = this.id;
+            return;
+        }
+        this.rootId = parent.getRootId() != null ? parent.getRootId() : parent.getId();
+        if (parent.getAncestors() != null) this.ancestors.addAll(parent.getAncestors());
+        this.ancestors.add(parent.getId());
+    }
+
+    // 기존 데이터 이전용
+    public void placeAt(String rootId, List<String> ancestors){
+        this.rootId = rootId;
+        this.ancestors = new ArrayList<>(ancestors);
+    }
+
+    public void updateContent(String content){
+        this.content = content;
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public void disappear(){
         this.visable = false;
     }
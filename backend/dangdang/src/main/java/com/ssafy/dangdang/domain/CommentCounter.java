@@ -0,0 +1,40 @@
+package com.ssafy.dangdang.domain;
+
+import com.ssafy.dangdang.domain.types.CommentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글/스터디/자소서별 댓글 수(답글 포함)
+ * 댓글을 쓰고 지울 때 $inc로만 갱신한다.
+ */
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class CommentCounter {
+
+    // {commentType}:{referenceId}
+    @Id
+    private String id;
+
+    private CommentType commentType;
+
+    private Long referenceId;
+
+    private Long count;
+
+    // 마지막으로 $inc 또는 재집계된 시각, 재집계가 그 사이에 바뀐 댓글 수를 덮어쓰지 않도록 비교한다.
+    private LocalDateTime updatedAt;
+
+    public static String idOf(CommentType commentType, Long referenceId) {
+        return commentType.name() + ":" + referenceId;
+    }
+}
@@ -41,6 +41,12 @@ public class InterviewQuestion {
 
     private Boolean visable;
 
+    // 북마크 수, 북마크를 추가/삭제할 때 update 쿼리로 더하고 빼며 주기적으로 북마크 테이블과 맞춘다.
+    // 공개/숨김 처리처럼 엔티티를 고칠 때 읽어둔 값으로 덮어쓰지 않도록 updatable = false
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private Integer bookmarkCount = 0;
+
 
     public static InterviewQuestion of(InterviewQuestionDto interviewQuestionDto, User user){
         return InterviewQuestion.builder()
@@ -4,6 +4,7 @@ import com.ssafy.dangdang.domain.dto.StudyDto;
 import com.ssafy.dangdang.domain.dto.StudyHashTagDto;
 import lombok.*;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
+@Where(clause = "deleted = false")
 public class Study {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +41,11 @@ public class Study {
 
     private Integer number;
 
+    // 가입 완료된 회원 수(스터디장 포함), 정원 확인은 가입 목록 대신 이 값으로 한다.
+    // 조건부 UPDATE(reserveSeat/releaseSeat)로만 바꾼다. 스터디 수정 시 읽어둔 값으로 덮어쓰지 않도록 updatable = false
+    @Column(updatable = false)
+    private Integer memberCount;
+
     @ManyToOne(fetch = FetchType.LAZY) //스터디 만든사람
     @JoinColumn(name = "host_id")
     @ToString.Exclude
@@ -55,11 +62,18 @@ public class Study {
     @Builder.Default
     private List<StudyHashTag> hashTags = new ArrayList<>();
 
+    // 진행 시간과 마지막 진행 시간은 StudyActivityBuffer의 UPDATE로만 바꾼다. 스터디 수정 시 읽어둔 값으로 덮어쓰지 않도록 updatable = false
+    @Column(updatable = false)
     private Integer totalTime;
 
     @Builder.Default
+    @Column(updatable = false)
     private LocalDateTime lastAccessTime = LocalDateTime.now();
 
+    // 삭제된 스터디는 바로 조회에서 빠지고, 연관 데이터는 StudyPurgeJob이 나중에 지운다.
+    @Builder.Default
+    private Boolean deleted = false;
+
     public static Study of(User user, StudyDto studyDto) {
         if(studyDto.getHashTags()!= null && studyDto.getHashTags().isEmpty()){
             List<StudyHashTag> hashTags = studyDto.getHashTags().stream().map(StudyHashTag::of).collect(Collectors.toList());
@@ -74,6 +88,7 @@ public class Study {
                     .host(user)
                     .imageUrl("default.jpg")
                     .totalTime(0)
+                    .memberCount(1)
                     .lastAccessTime(LocalDateTime.now())
                     .build();
         }
@@ -87,12 +102,25 @@ public class Study {
                 .description(studyDto.getDescription())
                 .host(user)
                 .totalTime(0)
+                .memberCount(1)
                 .lastAccessTime(LocalDateTime.now())
                 .build();
 
 
     }
 
+    public void update(StudyDto studyDto) {
+        this.name = studyDto.getName();
+        this.number = studyDto.getNumber();
+        this.goal = studyDto.getGoal();
+        this.openKakao = studyDto.getOpenKakao();
+        this.description = studyDto.getDescription();
+    }
+
+    public void delete() {
+        this.deleted = true;
+    }
+
     public void addHashTags(List<StudyHashTag> studyHashTags){
         this.hashTags = studyHashTags;
     }
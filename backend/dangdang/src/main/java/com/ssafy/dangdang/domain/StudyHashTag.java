@@ -14,8 +14,10 @@ import javax.persistence.*;
 @ToString
 public class StudyHashTag {
 
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC batch가 꺼지므로, 테이블 기반 생성기로 id를 미리 할당받는다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "study_hash_tag_id")
+    @TableGenerator(name = "study_hash_tag_id", table = "id_sequence", pkColumnValue = "study_hash_tag", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
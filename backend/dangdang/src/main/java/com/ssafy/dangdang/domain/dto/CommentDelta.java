@@ -0,0 +1,99 @@
+package com.ssafy.dangdang.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ssafy.dangdang.domain.Comment;
+import com.ssafy.dangdang.domain.types.CommentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * /topic/comment/{commentType}/{referenceId} 로 보내는 댓글 변경분
+ * 클라이언트는 목록을 다시 조회하지 않고 id/parentId로 자기 트리에 반영한다. 바뀌지 않은 값은 보내지 않는다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "댓글 변경분")
+public class CommentDelta {
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    @Schema(description = "변경 종류", example = "CREATED")
+    private Action action;
+    @Schema(description = "참조하는 객체 타입", example = "POST")
+    private CommentType commentType;
+    @Schema(description = "참조하는 객체 Id", example = "1")
+    private Long referenceId;
+    @Schema(description = "댓글 Id")
+    private String id;
+    @Schema(description = "부모 댓글 Id, 최상위 댓글이면 없음")
+    private String parentId;
+    @Schema(description = "댓글 깊이", example = "0")
+    private Integer depth;
+    @Schema(description = "댓글 내용")
+    private String content;
+    @Schema(description = "작성자 Id", example = "1")
+    private Long writerId;
+    @Schema(description = "작성자 닉네임")
+    private String writerNickname;
+    @Schema(description = "작성자 프로필 이미지")
+    private String writerImageUrl;
+    @Schema(description = "작성/수정 시각")
+    private LocalDateTime at;
+    @Schema(description = "삭제된 댓글 수(답글 포함)")
+    private Long removed;
+
+    public static CommentDelta created(Comment comment) {
+        return CommentDelta.builder()
+                .action(Action.CREATED)
+                .commentType(comment.getCommentType())
+                .referenceId(comment.getReferenceId())
+                .id(comment.getId())
+                .parentId(parentIdOf(comment))
+                .depth(comment.getDepth())
+                .content(comment.getContent())
+                .writerId(comment.getWriterId())
+                .writerNickname(comment.getWriterNickname())
+                .writerImageUrl(comment.getWriterImageUrl())
+                .at(comment.getCreatedAt())
+                .build();
+    }
+
+    public static CommentDelta updated(Comment comment) {
+        return CommentDelta.builder()
+                .action(Action.UPDATED)
+                .commentType(comment.getCommentType())
+                .referenceId(comment.getReferenceId())
+                .id(comment.getId())
+                .content(comment.getContent())
+                .at(comment.getUpdatedAt())
+                .build();
+    }
+
+    public static CommentDelta deleted(Comment comment, long removed) {
+        return CommentDelta.builder()
+                .action(Action.DELETED)
+                .commentType(comment.getCommentType())
+                .referenceId(comment.getReferenceId())
+                .id(comment.getId())
+                .parentId(parentIdOf(comment))
+                .removed(removed)
+                .build();
+    }
+
+    public String topic() {
+        return "/topic/comment/" + commentType.name() + "/" + referenceId;
+    }
+
+    private static String parentIdOf(Comment comment) {
+        if (comment.getAncestors() == null || comment.getAncestors().isEmpty()) return null;
+        return comment.getAncestors().get(comment.getAncestors().size() - 1);
+    }
+}
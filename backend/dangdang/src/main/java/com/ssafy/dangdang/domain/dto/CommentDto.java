@@ -6,7 +6,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Getter
@@ -43,6 +43,9 @@ public class CommentDto {
     @Schema(description = "댓글 노출 유무, 유저가 삭제되면, 이 속성이 false로 바뀜", example = "true")
     private Boolean visable;
 
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "답글 수", example = "0")
+    private Integer replyCount;
+
     @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "답글 목록")
     private List<CommentDto> children;
     @Schema(description = "답글을 작성할 댓글Id")
@@ -79,6 +82,7 @@ public class CommentDto {
                     .writerNickname(comment.getWriterNickname())
                     .writerImageUrl(comment.getWriterImageUrl())
                     .visable(comment.getVisable())
+                    .replyCount(comment.getReplyCount())
                     .children(commentDtos)
                     .build();
         }
@@ -96,8 +100,59 @@ public class CommentDto {
                     .writerNickname(comment.getWriterNickname())
                     .writerImageUrl(comment.getWriterImageUrl())
                     .visable(comment.getVisable())
+                    .replyCount(comment.getReplyCount())
                     .build();
     }
 
+    /**
+     * 최상위 댓글과 그 답글들(rootId로 한 번에 조회한 목록)로 댓글 트리를 만든다.
+     * 답글은 ancestors의 마지막 id(부모)에 작성 순서대로 붙인다.
+     * rootId가 없는 이전 데이터는 DBRef를 따라가서 만든다.
+     */
+    public static List<CommentDto> trees(List<Comment> roots, List<Comment> replies) {
+        Map<String, CommentDto> nodes = new HashMap<>();
+        List<CommentDto> trees = new ArrayList<>(roots.size());
+        for (Comment root : roots) {
+            if (root.getRootId() == null) {
+                trees.add(CommentDto.of(root));
+                continue;
+            }
+            CommentDto node = node(root);
+            nodes.put(root.getId(), node);
+            trees.add(node);
+        }
+        for (Comment reply : replies) {
+            nodes.put(reply.getId(), node(reply));
+        }
+        for (Comment reply : replies) {
+            List<String> ancestors = reply.getAncestors();
+            if (ancestors == null || ancestors.isEmpty()) continue;
+            CommentDto parent = nodes.get(ancestors.get(ancestors.size() - 1));
+            // 부모가 지워진 답글은 보여주지 않는다.
+            if (parent == null) continue;
+            if (parent.getChildren() == null) parent.setChildren(new ArrayList<>());
+            parent.getChildren().add(nodes.get(reply.getId()));
+        }
+        return trees;
+    }
+
+    private static CommentDto node(Comment comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .content(comment.getContent())
+                .depth(comment.getDepth())
+                .createdAt(comment.getCreatedAt())
+                .updatedAt(comment.getUpdatedAt())
+                .referenceId(comment.getReferenceId())
+                .commentType(comment.getCommentType())
+                .writerId(comment.getWriterId())
+                .writerEmail(comment.getWriterEmail())
+                .writerNickname(comment.getWriterNickname())
+                .writerImageUrl(comment.getWriterImageUrl())
+                .visable(comment.getVisable())
+                .replyCount(comment.getReplyCount())
+                .build();
+    }
+
 
 }
@@ -29,6 +29,8 @@ public class InterviewQuestionDto {
     private UserDto writer;
     @Schema(description = "공개 유무", example = "true")
     private boolean visable;
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "북마크 수", example = "3")
+    private Integer bookmarkCount;
 
     public static InterviewQuestionDto of(WriteInterview writeInterview){
         return InterviewQuestionDto.builder()
@@ -48,6 +50,7 @@ public class InterviewQuestionDto {
                 .field(interviewQuestion.getField().toString())
                 .job(interviewQuestion.getJob().toString())
                 .visable(interviewQuestion.getVisable())
+                .bookmarkCount(interviewQuestion.getBookmarkCount())
                 .writer(UserDto.of(interviewQuestion.getWriter()))
                 .build();
     }
@@ -33,6 +33,8 @@ public class PostDto {
     private LocalDateTime updatedAt ;
     @Schema(description = "게시글에 작성된 댓글 목록")
     private Page<CommentDto> comments;
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "게시글에 작성된 댓글 수 (답글 포함)", example = "3")
+    private Long commentCount;
 
     public static PostDto of(WritePost writePost){
 
@@ -0,0 +1,31 @@
+package com.ssafy.dangdang.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProfileSyncStatus {
+
+    @Schema(description = "전파 상태 (NONE, PENDING, RUNNING, DONE, FAILED)", example = "DONE")
+    private String state;
+    @Schema(description = "시도 횟수", example = "1")
+    private int attempts;
+    @Schema(description = "작성한 전체 댓글 수", example = "1200")
+    private long totalComments;
+    @Schema(description = "아직 반영되지 않은 댓글 수", example = "0")
+    private long remainingComments;
+    @Schema(description = "요청 시각")
+    private LocalDateTime requestedAt;
+    @Schema(description = "완료(또는 실패) 시각")
+    private LocalDateTime finishedAt;
+    @Schema(description = "마지막 실패 사유")
+    private String lastError;
+}
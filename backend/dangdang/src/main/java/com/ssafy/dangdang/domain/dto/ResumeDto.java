@@ -32,6 +32,9 @@ public class ResumeDto {
     @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "댓글 목록")
     private Page<CommentDto> commentDtos;
 
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "댓글 수 (답글 포함)", example = "3")
+    private Long commentCount;
+
 
     public static ResumeDto of(WriteResume writeResume){
 
@@ -35,6 +35,9 @@ public class StudyDto {
     @Schema(description = "스터디 최대 인원", nullable = false, example = "4")
     private Integer number;
 
+    @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "가입 완료된 회원 수(스터디장 포함)", nullable = true, example = "3")
+    private Integer memberCount;
+
     @Schema(description = "스터디 설명", nullable = true, example = "2022년 상반기 네이버 공채 면접 준비 스터디입니다.")
     private String description;
 
@@ -87,11 +90,15 @@ public class StudyDto {
         List<UserDto> userDtoLIst = joins.stream().filter(join -> !join.getWaiting())
                 .map(join -> UserDto.of(join.getUser())).collect(Collectors.toList());
 
-
-        UserDto userDto = UserDto.of(study.getHost());
         List<String> hashTags = study.getHashTags()
                 .stream().map(StudyHashTag::getHashTag)
                 .collect(Collectors.toList());
+        return of(study, userDtoLIst, hashTags);
+    }
+
+    // 가입 유저와 해쉬태그를 미리 조회해둔 경우, 지연로딩 없이 DTO를 만든다.
+    public static StudyDto of(Study study, List<UserDto> userDtoLIst, List<String> hashTags) {
+        UserDto userDto = UserDto.of(study.getHost());
         return StudyDto.builder()
                 .id(study.getId())
                 .name(study.getName())
@@ -103,6 +110,7 @@ public class StudyDto {
                 .hashTags(hashTags)
                 .imageUrl(study.getImageUrl())
                 .number(study.getNumber())
+                .memberCount(study.getMemberCount())
                 .userDtos(userDtoLIst)
                 .host(userDto)
                 .build();
@@ -0,0 +1,25 @@
+package com.ssafy.dangdang.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TtsWarmReport {
+
+    @Schema(description = "대상 질문 수 (공개된 질문, 같은 문장은 하나로 센다)", example = "120")
+    private int total;
+    @Schema(description = "합성 대기열에 넣은 수", example = "30")
+    private int queued;
+    @Schema(description = "이미 캐시되어 있는 수", example = "85")
+    private int cached;
+    @Schema(description = "이미 합성 대기 중인 수", example = "5")
+    private int pending;
+    @Schema(description = "대기열이 가득 차서 넣지 못한 수, 잠시 후 다시 요청하면 된다", example = "0")
+    private int rejected;
+}
@@ -0,0 +1,33 @@
+package com.ssafy.dangdang.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkerPoolStats {
+
+    @Schema(description = "작업 스레드 수", example = "4")
+    private int poolSize;
+    @Schema(description = "실행 중인 작업 수", example = "2")
+    private int activeCount;
+    @Schema(description = "대기열에 쌓인 작업 수", example = "0")
+    private int queueDepth;
+    @Schema(description = "대기열 최대 크기", example = "64")
+    private int queueCapacity;
+    @Schema(description = "완료된 작업 수", example = "1024")
+    private long completedCount;
+    @Schema(description = "대기열 초과로 거절된 작업 수", example = "0")
+    private long rejectedCount;
+    @Schema(description = "재시도 후에도 실패한 작업 수 (재시도하는 작업만 해당)", example = "0")
+    private long failedCount;
+    @Schema(description = "평균 처리 시간(ms, 대기 시간 포함)", example = "85.3")
+    private double averageLatencyMillis;
+    @Schema(description = "최대 처리 시간(ms, 대기 시간 포함)", example = "240")
+    private long maxLatencyMillis;
+}
@@ -0,0 +1,16 @@
+package com.ssafy.dangdang.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 북마크 변경을 MySQL에 쓴 뒤, 북마크 수를 다시 센 면접 질문 id들을 담아 발행되는 이벤트
+ */
+@Getter
+@RequiredArgsConstructor
+public class BookmarkCountsChangedEvent {
+
+    private final List<Long> questionIds;
+}
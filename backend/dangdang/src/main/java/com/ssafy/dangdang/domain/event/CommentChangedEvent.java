@@ -0,0 +1,15 @@
+package com.ssafy.dangdang.domain.event;
+
+import com.ssafy.dangdang.domain.dto.CommentDelta;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 댓글이 작성/수정/삭제되었을 때 발행되는 이벤트, 구독 중인 클라이언트에게 보낼 변경분을 담는다.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentChangedEvent {
+
+    private final CommentDelta delta;
+}
@@ -0,0 +1,26 @@
+package com.ssafy.dangdang.domain.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 면접 질문이 작성/공개/숨김/삭제되었을 때 발행되는 이벤트
+ * 구독하는 쪽에서 커밋 이후 DB의 최신 상태를 다시 읽어서 반영한다.
+ * 유저 탈퇴처럼 한 번에 여러 질문이 지워지는 경우에는 questionId 대신 writerId를 담는다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class InterviewQuestionChangedEvent {
+
+    private final Long questionId;
+    private final Long writerId;
+
+    public static InterviewQuestionChangedEvent ofQuestion(Long questionId) {
+        return new InterviewQuestionChangedEvent(questionId, null);
+    }
+
+    public static InterviewQuestionChangedEvent ofWriter(Long writerId) {
+        return new InterviewQuestionChangedEvent(null, writerId);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ssafy.dangdang.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 스터디가 생성/수정/삭제되었을 때 발행되는 이벤트
+ * 구독하는 쪽에서 커밋 이후 DB의 최신 상태를 다시 읽어서 반영한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class StudyChangedEvent {
+
+    private final Long studyId;
+}
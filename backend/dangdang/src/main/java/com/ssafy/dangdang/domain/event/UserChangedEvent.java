@@ -0,0 +1,27 @@
+package com.ssafy.dangdang.domain.event;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 유저 정보(닉네임, 이메일, 프로필 이미지, 권한)가 바뀌거나 유저가 삭제되었을 때 발행되는 이벤트
+ * 이메일이 바뀌는 경우에는 바뀌기 전/후 이메일을 모두 담는다.
+ */
+@Getter
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final List<String> emails;
+
+    public UserChangedEvent(Long userId, String... emails) {
+        this.userId = userId;
+        this.emails = Arrays.stream(emails)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
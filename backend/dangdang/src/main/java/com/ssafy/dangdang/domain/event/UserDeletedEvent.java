@@ -0,0 +1,22 @@
+package com.ssafy.dangdang.domain.event;
+
+import com.ssafy.dangdang.domain.types.CommentType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 회원 탈퇴가 MySQL에 반영될 때 발행되는 이벤트
+ * 함께 지운 게시글/자소서/스터디의 댓글 종류별 id와, 회원이 작성한 댓글을 지울지(false면 숨김) 여부를 담는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserDeletedEvent {
+
+    private final Long userId;
+    private final String email;
+    private final Map<CommentType, List<Long>> references;
+    private final boolean deleteComments;
+}
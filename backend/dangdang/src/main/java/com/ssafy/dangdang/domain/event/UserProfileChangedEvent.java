@@ -0,0 +1,18 @@
+package com.ssafy.dangdang.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 댓글 등에 복사해 둔 작성자 정보(닉네임, 이메일, 프로필 이미지)가 바뀌었을 때 발행되는 이벤트
+ * 바뀐 이후의 값을 모두 담는다.
+ */
+@Getter
+@AllArgsConstructor
+public class UserProfileChangedEvent {
+
+    private final Long userId;
+    private final String nickname;
+    private final String email;
+    private final String imageUrl;
+}
@@ -0,0 +1,23 @@
+package com.ssafy.dangdang.exception.Swagger;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ApiError429 {
+    @Schema(description = "API 호출 성공 유무", defaultValue = "false")
+    private final boolean success = false;
+    @Schema(description = "응답 데이터", defaultValue = "null")
+    private final Object response = null;
+    @Schema(description = "에러 정보")
+    private final SwaggerApiError error = null ;
+
+    @Getter
+    static class SwaggerApiError{
+        @Schema(defaultValue = "요청이 많아 잠시 후 다시 시도해주세요.")
+        private String message = "요청이 많아 잠시 후 다시 시도해주세요.";
+        @Schema(defaultValue = "429")
+        private HttpStatus httpStatus = HttpStatus.TOO_MANY_REQUESTS;
+    }
+}
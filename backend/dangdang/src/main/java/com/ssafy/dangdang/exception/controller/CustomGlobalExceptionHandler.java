@@ -6,7 +6,9 @@ import com.ssafy.dangdang.exception.ExtantUserException;
 import com.ssafy.dangdang.exception.Swagger.ApiError400;
 import com.ssafy.dangdang.exception.Swagger.ApiError403;
 import com.ssafy.dangdang.exception.Swagger.ApiError404;
+import com.ssafy.dangdang.exception.Swagger.ApiError429;
 import com.ssafy.dangdang.exception.Swagger.ApiError500;
+import com.ssafy.dangdang.exception.TooManyRequestsException;
 import com.ssafy.dangdang.exception.UnauthorizedAccessException;
 import com.ssafy.dangdang.exception.mattermost.NotificationManager;
 import com.ssafy.dangdang.util.ApiUtils;
@@ -126,6 +128,17 @@ public class CustomGlobalExceptionHandler  {
         return error(e, HttpStatus.BAD_REQUEST);
     }
 
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "429", description = "요청 과다", content = @Content(schema = @Schema(implementation = ApiError429.class))),
+    })
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ApiResult<?> TooManyRequestsHandle(TooManyRequestsException e, HttpServletRequest req){
+        // 과부하 상황이므로 스택트레이스와 알림은 남기지 않는다.
+        log.warn("TooManyRequestsException 발생 : {}", e.getMessage());
+        return error(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     private String getParams(HttpServletRequest req) {
         StringBuilder params = new StringBuilder();
         Enumeration<String> keys = req.getParameterNames();
@@ -16,8 +16,6 @@ public interface CommentRepository extends MongoRepository<Comment, Long>, Comme
 
     public List<Comment> findAllByReferenceIdAndDepthAndCommentType(Long referenceId, Integer depth, CommentType commentType);
 
-    public List<Comment> findCommentByWriterEmail(String writerEmail);
-
     public Optional<Comment> findCommentById(String id);
 
 
@@ -1,8 +1,45 @@
 package com.ssafy.dangdang.repository;
 
 import com.ssafy.dangdang.domain.Comment;
+import com.ssafy.dangdang.domain.types.CommentType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface CommentRepositorySupport {
 
-    void recurDelete(Comment comment);
+    // 댓글을 저장하고, 답글이면 부모 댓글의 children/replyCount를 원자적으로 갱신한다. 부모가 없으면 false
+    boolean insertComment(Comment comment);
+
+    // 내용만 $set으로 바꿔서, 동시에 달린 답글(children)을 덮어쓰지 않는다.
+    void updateContent(Comment comment);
+
+    long countByReference(CommentType commentType, Long referenceId);
+
+    // 여러 게시글/자소서의 댓글 수를 한 번에 조회한다. 댓글이 없으면 0
+    Map<Long, Long> countByReferences(CommentType commentType, Collection<Long> referenceIds);
+
+    // 댓글과 모든 답글을 한 번의 deleteMany로 지우고, 부모 댓글의 children에서 뺀다.
+    long deleteSubtree(Comment comment);
+
+    // 대댓글까지 같은 referenceId, commentType을 가지므로 한 번에 지운다.
+    long deleteAllByReference(CommentType commentType, Collection<Long> referenceIds);
+
+    // 작성자의 댓글을 답글까지 하위 트리째 지우고, 남아있는 부모 댓글의 children/replyCount에서 뺀다.
+    long deleteAllByWriterId(Long writerId);
+
+    // 작성자가 탈퇴한 댓글을 지우지 않고 숨김 처리한다.
+    long hideAllByWriterId(Long writerId);
+
+    // 작성자의 모든 댓글에 닉네임/이메일/프로필 이미지를 한 번의 updateMulti로 반영한다.
+    long updateWriterProfile(Long writerId, String nickname, String email, String imageUrl);
+
+    long countByWriterId(Long writerId);
+
+    // 작성자 정보가 아직 반영되지 않은 댓글 수
+    long countStaleByWriter(Long writerId, String nickname, String email, String imageUrl);
+
+    // 최상위 댓글들에 달린 모든 답글을 작성 순으로 한 번에 조회한다.
+    List<Comment> findReplies(Collection<String> rootIds);
 }
@@ -1,11 +1,24 @@
 package com.ssafy.dangdang.repository;
 
+import com.mongodb.DBRef;
 import com.ssafy.dangdang.domain.Comment;
+import com.ssafy.dangdang.domain.CommentCounter;
+import com.ssafy.dangdang.domain.types.CommentType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
-import static com.ssafy.dangdang.util.ApiUtils.success;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -14,13 +27,206 @@ public class CommentRepositorySupportImpl implements CommentRepositorySupport{
     private final MongoTemplate mongoTemplate;
 
     @Override
-    public void recurDelete(Comment comment) {
-        if(!comment.getChildren().isEmpty()){
-            for (Comment child:
-                    comment.getChildren()) {
-                this.recurDelete(child);
+    public boolean insertComment(Comment comment) {
+        mongoTemplate.insert(comment);
+        String parentId = parentIdOf(comment);
+        if (parentId != null) {
+            long matched = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(parentId)),
+                    new Update().push("children", dbRef(comment.getId())).inc("replyCount", 1),
+                    Comment.class).getMatchedCount();
+            if (matched == 0) {
+                // 그 사이 부모 댓글이 지워졌으면 저장한 답글도 지운다.
+                mongoTemplate.remove(Query.query(Criteria.where("_id").is(comment.getId())), Comment.class);
+                return false;
             }
         }
-        mongoTemplate.remove(comment);
+        incrementCount(comment.getCommentType(), comment.getReferenceId(), 1);
+        return true;
+    }
+
+    @Override
+    public void updateContent(Comment comment) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(comment.getId())),
+                Update.update("content", comment.getContent())
+                        .set("updatedAt", comment.getUpdatedAt())
+                        .set("writerNickname", comment.getWriterNickname())
+                        .set("writerEmail", comment.getWriterEmail())
+                        .set("writerImageUrl", comment.getWriterImageUrl()),
+                Comment.class);
+    }
+
+    @Override
+    public long countByReference(CommentType commentType, Long referenceId) {
+        CommentCounter counter = mongoTemplate.findById(CommentCounter.idOf(commentType, referenceId), CommentCounter.class);
+        return counter == null || counter.getCount() == null ? 0 : Math.max(counter.getCount(), 0);
+    }
+
+    @Override
+    public Map<Long, Long> countByReferences(CommentType commentType, Collection<Long> referenceIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (referenceIds.isEmpty()) return counts;
+        List<String> counterIds = new ArrayList<>();
+        for (Long referenceId : referenceIds) {
+            counts.put(referenceId, 0L);
+            counterIds.add(CommentCounter.idOf(commentType, referenceId));
+        }
+        for (CommentCounter counter : mongoTemplate.find(Query.query(Criteria.where("_id").in(counterIds)), CommentCounter.class)) {
+            if (counter.getCount() != null) counts.put(counter.getReferenceId(), Math.max(counter.getCount(), 0));
+        }
+        return counts;
+    }
+
+    @Override
+    public long deleteSubtree(Comment comment) {
+        Query subtree;
+        if (comment.getRootId() != null) {
+            subtree = Query.query(new Criteria().orOperator(
+                    Criteria.where("_id").is(comment.getId()),
+                    Criteria.where("ancestors").is(comment.getId())));
+        } else {
+            // 아직 rootId가 채워지지 않은 이전 트리는 DBRef를 따라 id만 모은 뒤 한 번에 지운다.
+            List<String> ids = new ArrayList<>();
+            collectIds(comment, ids, new HashSet<>());
+            subtree = Query.query(Criteria.where("_id").in(ids));
+        }
+        long deleted = mongoTemplate.remove(subtree, Comment.class).getDeletedCount();
+        if (deleted == 0) return 0;
+
+        String parentId = parentIdOf(comment);
+        if (parentId != null) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(parentId)),
+                    new Update().pull("children", dbRef(comment.getId())).inc("replyCount", -1),
+                    Comment.class);
+        }
+        incrementCount(comment.getCommentType(), comment.getReferenceId(), -deleted);
+        return deleted;
+    }
+
+    private void collectIds(Comment comment, List<String> ids, Set<String> visited) {
+        if (comment == null || !visited.add(comment.getId())) return;
+        ids.add(comment.getId());
+        if (comment.getChildren() == null) return;
+        for (Comment child : comment.getChildren()) collectIds(child, ids, visited);
+    }
+
+    @Override
+    public long deleteAllByReference(CommentType commentType, Collection<Long> referenceIds) {
+        if (referenceIds.isEmpty()) return 0;
+        Query query = Query.query(Criteria.where("commentType").is(commentType).and("referenceId").in(referenceIds));
+        long deleted = mongoTemplate.remove(query, Comment.class).getDeletedCount();
+        List<String> counterIds = new ArrayList<>();
+        for (Long referenceId : referenceIds) counterIds.add(CommentCounter.idOf(commentType, referenceId));
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(counterIds)), CommentCounter.class);
+        return deleted;
+    }
+
+    @Override
+    public long deleteAllByWriterId(Long writerId) {
+        List<Comment> written = mongoTemplate.find(Query.query(Criteria.where("writerId").is(writerId)), Comment.class);
+        if (written.isEmpty()) return 0;
+        Set<String> writtenIds = new HashSet<>();
+        for (Comment comment : written) writtenIds.add(comment.getId());
+
+        // 다른 사람이 단 답글까지 하위 트리째 지운다. 삭제되는 댓글 아래에 있는 댓글은 위쪽 댓글의 하위 트리에 포함된다.
+        List<Comment> tops = new ArrayList<>();
+        List<String> legacyIds = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        for (Comment comment : written) {
+            List<String> ancestors = comment.getAncestors();
+            if (ancestors != null && ancestors.stream().anyMatch(writtenIds::contains)) continue;
+            tops.add(comment);
+            // 아직 rootId가 채워지지 않은 이전 트리는 DBRef를 따라 id를 모은다.
+            if (comment.getRootId() == null) collectIds(comment, legacyIds, visited);
+        }
+        Criteria subtree = new Criteria().orOperator(
+                Criteria.where("_id").in(writtenIds),
+                Criteria.where("ancestors").in(writtenIds),
+                Criteria.where("_id").in(legacyIds));
+
+        // 지워질 댓글 수를 게시글/스터디/자소서별로 세어서 댓글 수에서 뺀다.
+        Aggregation countByReference = Aggregation.newAggregation(
+                Aggregation.match(subtree),
+                Aggregation.group("commentType", "referenceId").count().as("count"),
+                Aggregation.project("commentType", "referenceId", "count").andExclude("_id"));
+        List<ReferenceCount> counts = mongoTemplate.aggregate(countByReference, Comment.class, ReferenceCount.class).getMappedResults();
+        long deleted = mongoTemplate.remove(Query.query(subtree), Comment.class).getDeletedCount();
+
+        // 남아있는 부모 댓글에서 지운 답글을 뺀다.
+        BulkOperations parents = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class);
+        int detached = 0;
+        for (Comment top : tops) {
+            String parentId = parentIdOf(top);
+            if (parentId == null) continue;
+            parents.updateOne(Query.query(Criteria.where("_id").is(parentId)),
+                    new Update().pull("children", dbRef(top.getId())).inc("replyCount", -1));
+            detached++;
+        }
+        if (detached > 0) parents.execute();
+
+        for (ReferenceCount count : counts) incrementCount(count.getCommentType(), count.getReferenceId(), -count.getCount());
+        return deleted;
+    }
+
+    @Override
+    public long hideAllByWriterId(Long writerId) {
+        return mongoTemplate.updateMulti(Query.query(Criteria.where("writerId").is(writerId)),
+                Update.update("visable", false), Comment.class).getModifiedCount();
+    }
+
+    @Override
+    public long updateWriterProfile(Long writerId, String nickname, String email, String imageUrl) {
+        return mongoTemplate.updateMulti(Query.query(Criteria.where("writerId").is(writerId)),
+                Update.update("writerNickname", nickname)
+                        .set("writerEmail", email)
+                        .set("writerImageUrl", imageUrl),
+                Comment.class).getModifiedCount();
+    }
+
+    @Override
+    public long countByWriterId(Long writerId) {
+        return mongoTemplate.count(Query.query(Criteria.where("writerId").is(writerId)), Comment.class);
+    }
+
+    @Override
+    public long countStaleByWriter(Long writerId, String nickname, String email, String imageUrl) {
+        return mongoTemplate.count(Query.query(Criteria.where("writerId").is(writerId).orOperator(
+                Criteria.where("writerNickname").ne(nickname),
+                Criteria.where("writerEmail").ne(email),
+                Criteria.where("writerImageUrl").ne(imageUrl))), Comment.class);
+    }
+
+    @Override
+    public List<Comment> findReplies(Collection<String> rootIds) {
+        if (rootIds.isEmpty()) return Collections.emptyList();
+        Query query = Query.query(Criteria.where("rootId").in(rootIds).and("depth").gt(0))
+                .with(Sort.by("createdAt", "_id"));
+        return mongoTemplate.find(query, Comment.class);
+    }
+
+    private void incrementCount(CommentType commentType, Long referenceId, long delta) {
+        if (commentType == null || referenceId == null) return;
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(CommentCounter.idOf(commentType, referenceId))),
+                new Update().inc("count", delta)
+                        .set("updatedAt", LocalDateTime.now())
+                        .setOnInsert("commentType", commentType)
+                        .setOnInsert("referenceId", referenceId),
+                CommentCounter.class);
+    }
+
+    private String parentIdOf(Comment comment) {
+        List<String> ancestors = comment.getAncestors();
+        return ancestors == null || ancestors.isEmpty() ? null : ancestors.get(ancestors.size() - 1);
+    }
+
+    private DBRef dbRef(String commentId) {
+        return new DBRef(mongoTemplate.getCollectionName(Comment.class), new ObjectId(commentId));
+    }
+
+    @Getter
+    @NoArgsConstructor
+    static class ReferenceCount {
+        private CommentType commentType;
+        private Long referenceId;
+        private long count;
     }
 }
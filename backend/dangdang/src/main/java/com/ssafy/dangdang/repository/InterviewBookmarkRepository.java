@@ -9,6 +9,8 @@ import com.ssafy.dangdang.domain.projection.InterviewBookmarkMapping;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
@@ -23,9 +25,20 @@ public interface InterviewBookmarkRepository extends JpaRepository<InterviewBook
 
     List<InterviewBookmark> findInterviewBookmarksByUserId(Long userId);
 
-    @Query(value = "select ib.interviewQuestion from InterviewBookmark ib" +
-            "  group by ib.interviewQuestion " +
-            "order by count(ib.interviewQuestion) desc",
-    countQuery = "select  count(distinct ib.interviewQuestion) from InterviewBookmark ib")
-    Page<InterviewQuestion> findRecommends(Pageable pageable);
+    @Query("select ib.interviewQuestion.id from InterviewBookmark ib where ib.user.id = :userId")
+    List<Long> findQuestionIdsByUserId(@Param("userId") Long userId);
+
+    @Query("select ib.user.id from InterviewBookmark ib where ib.interviewQuestion.id = :interviewId")
+    List<Long> findUserIdsByInterviewId(@Param("interviewId") Long interviewId);
+
+    @Modifying
+    @Query("delete from InterviewBookmark ib where ib.interviewQuestion.id = :interviewId")
+    int deleteAllByInterviewId(@Param("interviewId") Long interviewId);
+
+    // 회원 탈퇴 시 회원의 북마크와, 회원이 작성한 질문에 달린 북마크를 지운다.
+    @Modifying
+    @Query("delete from InterviewBookmark ib " +
+            "where ib.user.id = :userId " +
+            "or ib.interviewQuestion.id in (select i.id from InterviewQuestion i where i.writer.id = :userId)")
+    int deleteAllRelatedToUser(@Param("userId") Long userId);
 }
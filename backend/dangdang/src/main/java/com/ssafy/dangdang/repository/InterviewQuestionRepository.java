@@ -2,13 +2,17 @@ package com.ssafy.dangdang.repository;
 
 import com.ssafy.dangdang.domain.InterviewQuestion;
 import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.domain.types.InterviewField;
+import com.ssafy.dangdang.domain.types.InterviewJob;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @EnableJpaRepositories
@@ -40,5 +44,29 @@ public interface InterviewQuestionRepository extends JpaRepository<InterviewQues
     )
     public Page<InterviewQuestion> findInterviewBookmark(@Param("userId") Long userId, Pageable pageable);
 
+    @Modifying
+    @Query("delete from InterviewQuestion i where i.writer.id = :writerId")
+    public int deleteAllByWriterId(@Param("writerId") Long writerId);
 
+    // 북마크 수 순 추천 목록, 집계 쿼리 대신 bookmark_count 인덱스로 정렬한다. (추천 순위가 준비되기 전에만 사용)
+    @Query( value = "select i from InterviewQuestion i left join fetch i.writer " +
+            "where i.bookmarkCount > 0 order by i.bookmarkCount desc, i.id desc",
+            countQuery = "select count(i) from InterviewQuestion i where i.bookmarkCount > 0")
+    public Page<InterviewQuestion> findRecommends(Pageable pageable);
+
+    // 필드/직무가 null이면 조건에서 뺀다.
+    @Query("select distinct i.question from InterviewQuestion i where i.visable = true " +
+            "and (:field is null or i.field = :field) and (:job is null or i.job = :job)")
+    public List<String> findVisibleQuestionTexts(@Param("field") InterviewField field, @Param("job") InterviewJob job);
+
+    @Query("select i from InterviewQuestion i left join fetch i.writer where i.id in :ids")
+    public List<InterviewQuestion> findAllWithWriterByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 회원 탈퇴 시 회원이 북마크한 질문들의 북마크 수를 한 번에 줄인다.
+    @Modifying
+    @Query(value = "update interview_question q join " +
+            "(select b.interview_id, count(*) cnt from interview_bookmark b where b.user_id = :userId group by b.interview_id) ub " +
+            "on ub.interview_id = q.id " +
+            "set q.bookmark_count = greatest(q.bookmark_count - ub.cnt, 0)", nativeQuery = true)
+    public int releaseBookmarksOf(@Param("userId") Long userId);
 }
@@ -4,6 +4,7 @@ import com.ssafy.dangdang.domain.InterviewQuestion;
 import com.ssafy.dangdang.domain.Study;
 import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.WriteInterview;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
@@ -20,6 +21,9 @@ public interface InterviewQuestionSupport {
 //                    "where i.visable = true or i.writer.id = :writerId" )
     public Page<InterviewQuestion> findAllVisableInterviewQuestion(User writer, Pageable pageable);
 
+    // id 최신순 커서 기반 조회
+    CursorSlice<InterviewQuestion> scrollVisableInterviewQuestion(User writer, String cursor, int size);
+
     Page<InterviewQuestion> searchInterviewQuestion(User writer, WriteInterview searchParam, Pageable pageable);
 
     Page<InterviewQuestion> adminSearchInterviewQuestion(WriteInterview searchParam, Pageable pageable);
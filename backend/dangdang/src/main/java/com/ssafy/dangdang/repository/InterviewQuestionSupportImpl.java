@@ -8,18 +8,38 @@ import com.ssafy.dangdang.domain.dto.WriteInterview;
 import com.ssafy.dangdang.domain.types.InterviewField;
 import com.ssafy.dangdang.domain.types.InterviewJob;
 import com.ssafy.dangdang.exception.BadRequestException;
+import com.ssafy.dangdang.repository.support.CursorSlice;
+import com.ssafy.dangdang.repository.support.InterviewQuestionSearchIndex;
+import com.ssafy.dangdang.repository.support.KeysetSort;
 import com.ssafy.dangdang.repository.support.Querydsl4RepositorySupport;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import static com.ssafy.dangdang.domain.QInterviewQuestion.interviewQuestion;
 import static com.ssafy.dangdang.domain.QUser.user;
 
 public class InterviewQuestionSupportImpl extends Querydsl4RepositorySupport implements InterviewQuestionSupport{
+
+    private InterviewQuestionSearchIndex searchIndex;
+
     public InterviewQuestionSupportImpl() {
         super(InterviewQuestion.class);
     }
 
+    @Autowired
+    public void setSearchIndex(InterviewQuestionSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
     @Override
     public Page<InterviewQuestion> findAllVisableInterviewQuestion(User writer, Pageable pageable) {
         Page<InterviewQuestion> interviewQuestions = applyPagination(pageable, contentQuery -> contentQuery
@@ -33,8 +53,20 @@ public class InterviewQuestionSupportImpl extends Querydsl4RepositorySupport imp
         return interviewQuestions;
     }
 
+    @Override
+    public CursorSlice<InterviewQuestion> scrollVisableInterviewQuestion(User writer, String cursor, int size) {
+        return applyCursorPagination(cursor, size,
+                KeysetSort.byId(interviewQuestion.id, InterviewQuestion::getId, true),
+                contentQuery -> contentQuery
+                        .selectFrom(interviewQuestion)
+                        .join(interviewQuestion.writer, user).fetchJoin()
+                        .where( isVisable().or(userEq(writer)) ));
+    }
+
     @Override
     public Page<InterviewQuestion> searchInterviewQuestion(User writer, WriteInterview searchParam, Pageable pageable) {
+        Page<InterviewQuestion> indexed = searchWithIndex(searchParam, writer, InterviewQuestionSearchIndex.Scope.VISIBLE_OR_MINE, pageable);
+        if (indexed != null) return indexed;
         Page<InterviewQuestion> interviewQuestions = applyPagination(pageable, contentQuery -> contentQuery
                         .selectFrom(interviewQuestion)
                         .join(interviewQuestion.writer, user).fetchJoin()
@@ -56,6 +88,8 @@ public class InterviewQuestionSupportImpl extends Querydsl4RepositorySupport imp
 
     @Override
     public Page<InterviewQuestion> adminSearchInterviewQuestion(WriteInterview searchParam, Pageable pageable) {
+        Page<InterviewQuestion> indexed = searchWithIndex(searchParam, null, InterviewQuestionSearchIndex.Scope.ALL, pageable);
+        if (indexed != null) return indexed;
         Page<InterviewQuestion> interviewQuestions = applyPagination(pageable, contentQuery -> contentQuery
                         .selectFrom(interviewQuestion)
                         .join(interviewQuestion.writer, user).fetchJoin()
@@ -76,6 +110,8 @@ public class InterviewQuestionSupportImpl extends Querydsl4RepositorySupport imp
     @Override
     public Page<InterviewQuestion> searchMine(User writer, WriteInterview searchParam, Pageable pageable) {
         if (writer == null) throw new BadRequestException("로그인을 해주세요");
+        Page<InterviewQuestion> indexed = searchWithIndex(searchParam, writer, InterviewQuestionSearchIndex.Scope.MINE, pageable);
+        if (indexed != null) return indexed;
         Page<InterviewQuestion> interviewQuestions = applyPagination(pageable, contentQuery -> contentQuery
                         .selectFrom(interviewQuestion)
                         .join(interviewQuestion.writer, user).fetchJoin()
@@ -95,6 +131,37 @@ public class InterviewQuestionSupportImpl extends Querydsl4RepositorySupport imp
         return interviewQuestions;
     }
 
+    /**
+     * 질문/답변 검색어가 있으면 역색인에서 관련도 순으로 찾고, 현재 페이지의 질문만 DB에서 읽는다.
+     * 색인이 준비되지 않았거나, 검색어가 없거나, 정렬 기준을 직접 지정한 경우에는 null을 반환하고 SQL로 조회한다.
+     */
+    private Page<InterviewQuestion> searchWithIndex(WriteInterview searchParam, User writer,
+                                                    InterviewQuestionSearchIndex.Scope scope, Pageable pageable) {
+        boolean hasTerm = (searchParam.getQuestion() != null && !searchParam.getQuestion().isEmpty())
+                || (searchParam.getAnswer() != null && !searchParam.getAnswer().isEmpty());
+        if (!searchIndex.ready() || !hasTerm || pageable.getSort().isSorted()) return null;
+
+        List<Long> ids = searchIndex.search(searchParam.getField(), searchParam.getJob(),
+                searchParam.getQuestion(), searchParam.getAnswer(),
+                writer != null ? writer.getId() : null, scope);
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        if (offset >= ids.size()) return new PageImpl<>(Collections.emptyList(), pageable, ids.size());
+        int end = pageable.isPaged() ? (int) Math.min(ids.size(), offset + pageable.getPageSize()) : ids.size();
+        List<Long> pageIds = ids.subList((int) offset, end);
+
+        Map<Long, InterviewQuestion> questions = selectFrom(interviewQuestion)
+                .join(interviewQuestion.writer, user).fetchJoin()
+                .where(interviewQuestion.id.in(pageIds))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(InterviewQuestion::getId, Function.identity()));
+        List<InterviewQuestion> content = pageIds.stream()
+                .map(questions::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
     private BooleanExpression fieldEq(String field){
         return field != null ? interviewQuestion.field.eq(InterviewField.valueOf(field)) : null;
     }
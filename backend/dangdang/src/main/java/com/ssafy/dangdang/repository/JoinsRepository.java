@@ -4,8 +4,14 @@ package com.ssafy.dangdang.repository;
 import com.ssafy.dangdang.domain.Joins;
 import com.ssafy.dangdang.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +24,24 @@ public interface JoinsRepository extends JpaRepository<Joins, Long> {
 
     List<Joins> findJoinsByStudyId(Long studyId);
 
+    @Modifying
+    @Query("delete from Joins j where j.study.id = :studyId")
+    int deleteAllByStudyId(@Param("studyId") Long studyId);
+
+    @Modifying
+    @Query("delete from Joins j where j.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    // 수락/탈퇴/신청 취소가 같은 가입 신청을 동시에 바꾸지 않도록 행을 잠그고 조회한다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from Joins j " +
+            "where j.user.id = :userId and j.study.id = :studyId")
+    Optional<Joins> findJoinsForUpdate(@Param("userId") Long userId, @Param("studyId") Long studyId);
+
+    // 스터디 목록의 가입 완료 회원을 한 번에 조회
+    @Query("select j from Joins j " +
+            "join fetch j.user " +
+            "where j.study.id in :studyIds and j.waiting = false")
+    List<Joins> findAcceptedJoinsWithUserByStudyIds(@Param("studyIds") Collection<Long> studyIds);
+
 }
@@ -5,6 +5,7 @@ import com.ssafy.dangdang.domain.Study;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.Param;
@@ -18,12 +19,18 @@ public interface PostRepository extends JpaRepository<Post, Long>, PostRepositor
 
     @Query("select p from Post p " +
             "left join fetch p.writer " +
-            "left join fetch p.study " +
-            "where p.id = :postId" )
+            "join fetch p.study s " +
+            "where p.id = :postId and s.deleted = false" )
     public Post findPostWithUser(@Param("postId") Long postId);
 
     public List<Post> findPostByStudyId(Long studyId);
 
     public List<Post> findPostByWriterId(Long writerId);
 
+    @Query("select p.id from Post p where p.writer.id = :writerId")
+    public List<Long> findIdsByWriterId(@Param("writerId") Long writerId);
+
+    @Modifying
+    @Query("delete from Post p where p.writer.id = :writerId")
+    public int deleteAllByWriterId(@Param("writerId") Long writerId);
 }
@@ -1,6 +1,7 @@
 package com.ssafy.dangdang.repository;
 
 import com.ssafy.dangdang.domain.Post;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -20,4 +21,7 @@ public interface PostRepositorySupport{
 //                    "where p.study.id = :studyId")
     public Page<Post> findPostByAllWithUser(Long studyId, Pageable pageable);
 
+    // 작성일 최신순 커서 기반 조회
+    CursorSlice<Post> scrollPostByStudyId(Long studyId, String cursor, int size);
+
 }
@@ -1,6 +1,8 @@
 package com.ssafy.dangdang.repository;
 
 import com.ssafy.dangdang.domain.Post;
+import com.ssafy.dangdang.repository.support.CursorSlice;
+import com.ssafy.dangdang.repository.support.KeysetSort;
 import com.ssafy.dangdang.repository.support.Querydsl4RepositorySupport;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.data.domain.Page;
@@ -20,18 +22,30 @@ public class PostRepositorySupportImpl extends Querydsl4RepositorySupport implem
     public Page<Post> findPostByAllWithUser(Long studyId, @Parameter(description = "페이지 정보", required = false) Pageable pageable) {
 
 
+        // 삭제 표시된 스터디의 게시글은 조회하지 않는다. (Study의 @Where는 연관관계 조인에는 적용되지 않는다)
         Page<Post> posts = applyPagination(pageable, contentQuery -> contentQuery
                         .selectFrom(post)
-                        .leftJoin(post.study, study).fetchJoin()
+                        .join(post.study, study).fetchJoin()
                         .leftJoin(post.writer, user).fetchJoin()
-                        .where(post.study.id.eq(studyId))
+                        .where(post.study.id.eq(studyId), study.deleted.isFalse())
 
                 , countQuery -> countQuery
                         .selectFrom(post)
-//                        .leftJoin(post.study, study).fetchJoin()
+                        .join(post.study, study)
 //                        .leftJoin(post.writer, user).fetchJoin()
-                        .where(post.study.id.eq(studyId)));
+                        .where(post.study.id.eq(studyId), study.deleted.isFalse()));
         return posts;
 
     }
+
+    @Override
+    public CursorSlice<Post> scrollPostByStudyId(Long studyId, String cursor, int size) {
+        return applyCursorPagination(cursor, size,
+                KeysetSort.byDateTime(post.createdAt, Post::getCreatedAt, post.id, Post::getId, true),
+                contentQuery -> contentQuery
+                        .selectFrom(post)
+                        .join(post.study, study).fetchJoin()
+                        .leftJoin(post.writer, user).fetchJoin()
+                        .where(post.study.id.eq(studyId), study.deleted.isFalse()));
+    }
 }
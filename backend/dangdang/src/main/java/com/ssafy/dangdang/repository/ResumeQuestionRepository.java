@@ -3,6 +3,9 @@ package com.ssafy.dangdang.repository;
 import com.ssafy.dangdang.domain.Resume;
 import com.ssafy.dangdang.domain.ResumeQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 import java.util.List;
@@ -11,4 +14,8 @@ import java.util.List;
 public interface ResumeQuestionRepository extends JpaRepository<ResumeQuestion, Long> {
 
     List<ResumeQuestion> findAllByResume(Resume resume);
+
+    @Modifying
+    @Query("delete from ResumeQuestion rq where rq.resume.id in (select r.id from Resume r where r.user.id = :userId)")
+    int deleteAllByUserId(@Param("userId") Long userId);
 }
@@ -3,6 +3,7 @@ package com.ssafy.dangdang.repository;
 
 import com.ssafy.dangdang.domain.Resume;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.Param;
@@ -19,9 +20,15 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
 
     @Query("select distinct r " +
             "from Resume  r left join fetch r.resumeQuestionList" +
-            " where r.user.id = :userId and r.study.id = :studyId")
+            " where r.user.id = :userId and r.study.id = :studyId and r.study.deleted = false")
     List<Resume> findResumeList(@Param("userId")Long userId, @Param("studyId") Long studyId);
 
     List<Resume> findAllByUserId(Long userId);
 
+    @Query("select r.id from Resume r where r.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from Resume r where r.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
 }
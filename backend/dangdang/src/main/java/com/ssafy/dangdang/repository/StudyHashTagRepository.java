@@ -2,10 +2,24 @@ package com.ssafy.dangdang.repository;
 
 import com.ssafy.dangdang.domain.StudyHashTag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 @EnableJpaRepositories
 public interface StudyHashTagRepository extends JpaRepository<StudyHashTag, Long> {
 
+    // [스터디 id, 해쉬태그] 목록, 스터디 목록의 해쉬태그를 한 번에 조회
+    @Query("select h.study.id, h.hashTag from StudyHashTag h where h.study.id in :studyIds")
+    List<Object[]> findHashTagsByStudyIds(@Param("studyIds") Collection<Long> studyIds);
+
+    // 스터디에서 빠진 해쉬태그를 한 번의 DELETE로 지운다.
+    @Modifying
+    @Query("delete from StudyHashTag h where h.study.id = :studyId and h.hashTag in :hashTags")
+    int deleteHashTags(@Param("studyId") Long studyId, @Param("hashTags") Collection<String> hashTags);
 
 }
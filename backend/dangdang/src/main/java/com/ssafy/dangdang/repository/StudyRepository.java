@@ -5,6 +5,7 @@ import com.ssafy.dangdang.domain.Study;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.Param;
@@ -25,5 +26,32 @@ public interface StudyRepository extends JpaRepository<Study, Long>, StudyReposi
             "where s.id = :studyId ")
     public Study findStudyById(@Param("studyId") Long studyId);
 
+    // 정원이 남아있을 때만 가입 회원 수를 늘린다. 갱신된 행이 없으면 정원이 찬 것
+    @Modifying
+    @Query("update Study s set s.memberCount = s.memberCount + 1 " +
+            "where s.id = :studyId and s.memberCount < s.number")
+    public int reserveSeat(@Param("studyId") Long studyId);
+
+    @Modifying
+    @Query("update Study s set s.memberCount = s.memberCount - 1 " +
+            "where s.id = :studyId and s.memberCount > 0")
+    public int releaseSeat(@Param("studyId") Long studyId);
+
+    // 회원 탈퇴 시 회원이 가입 완료된 스터디들의 회원 수를 한 번에 줄인다.
+    @Modifying
+    @Query("update Study s set s.memberCount = s.memberCount - 1 " +
+            "where s.memberCount > 0 and s.id in " +
+            "(select j.study.id from Joins j where j.user.id = :userId and j.waiting = false)")
+    public int releaseSeatsOf(@Param("userId") Long userId);
+
+    // 삭제 표시되지 않은 스터디 중 회원이 스터디장인 스터디가 있는지
+    public boolean existsByHostId(Long hostId);
+
+    // member_count 컬럼이 추가되기 전에 만들어진 스터디는 가입 목록으로 다시 센다.
+    @Modifying
+    @Query(value = "update study s set s.member_count = " +
+            "(select count(*) from joins j where j.study_id = s.id and j.waiting = false) " +
+            "where s.member_count is null", nativeQuery = true)
+    public int backfillMemberCount();
 
 }
@@ -2,6 +2,7 @@ package com.ssafy.dangdang.repository;
 
 import com.ssafy.dangdang.domain.Study;
 import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -18,6 +19,12 @@ public interface StudyRepositorySupport {
 
     Page<Study> findStudiesByHashtags(List<String> hashtags, Pageable pageable);
 
+    // matchAll이 true면 모든 해쉬태그를 가진 스터디만, false면 하나라도 가진 스터디를 조회
+    Page<Study> findStudiesByHashtags(List<String> hashtags, boolean matchAll, Pageable pageable);
+
+    // 커서 기반 조회, sort는 id(최신 생성순) 또는 lastAccessTime(최근 진행순)
+    CursorSlice<Study> scrollStudiesByHashtags(List<String> hashtags, boolean matchAll, String sort, String cursor, int size);
+
 //    public List<Study> findFetchJoinStudyById(Long studyId);
 
     Page<Study> getStudiesJoinedWithPage(User registeredUser,List<String> hashtags,  Pageable pageable);
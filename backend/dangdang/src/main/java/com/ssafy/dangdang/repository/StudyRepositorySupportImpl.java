@@ -2,11 +2,22 @@ package com.ssafy.dangdang.repository;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.ssafy.dangdang.domain.*;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.ssafy.dangdang.exception.BadRequestException;
+import com.ssafy.dangdang.repository.support.CursorSlice;
+import com.ssafy.dangdang.repository.support.KeysetSort;
 import com.ssafy.dangdang.repository.support.Querydsl4RepositorySupport;
+import com.ssafy.dangdang.repository.support.StudyHashTagIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 import static com.ssafy.dangdang.domain.QJoins.joins;
@@ -17,10 +28,17 @@ import static com.ssafy.dangdang.domain.QUser.user;
 public class StudyRepositorySupportImpl extends Querydsl4RepositorySupport implements StudyRepositorySupport  {
 
 
+    private StudyHashTagIndex hashTagIndex;
+
     public StudyRepositorySupportImpl() {
         super(Study.class);
     }
 
+    @Autowired
+    public void setHashTagIndex(StudyHashTagIndex hashTagIndex) {
+        this.hashTagIndex = hashTagIndex;
+    }
+
 
     @Override
     public List<Study> getStudiesJoined(User registeredUser, List<String> hashtags) {
@@ -55,20 +73,83 @@ public class StudyRepositorySupportImpl extends Querydsl4RepositorySupport imple
 
     @Override
     public Page<Study> findStudiesByHashtags(List<String> hashtags, Pageable pageable){
+        return findStudiesByHashtags(hashtags, false, pageable);
+    }
 
-        Page<Study> studies = applyPagination(pageable, contentQuery -> contentQuery
-                        .selectDistinct(study)
-                        .from(study)
-                        .join(study.host, user).fetchJoin()
-                        .where(containsHashTags(hashtags))
-                , countQuery -> countQuery
-                        .selectDistinct(study)
-                        .from(study)
-//                        .join(study.host, user).fetchJoin()
-                        .where(containsHashTags(hashtags) ));
-        return studies ;
+    @Override
+    public Page<Study> findStudiesByHashtags(List<String> hashtags, boolean matchAll, Pageable pageable){
+
+        // 역색인이 준비되지 않았으면 기존처럼 서브쿼리로 조회한다.
+        if (!hashTagIndex.ready()) {
+            return applyPagination(pageable, contentQuery -> contentQuery
+                            .selectDistinct(study)
+                            .from(study)
+                            .join(study.host, user).fetchJoin()
+                            .where(hasHashTags(hashtags, matchAll))
+                    , countQuery -> countQuery
+                            .select(study.id)
+                            .from(study)
+                            .where(hasHashTags(hashtags, matchAll)));
+        }
+
+        // 개수는 비트맵에서 바로 구하므로 count 쿼리가 필요 없다.
+        BitSet candidates = hashTagIndex.find(hashtags, matchAll);
+        long total = candidates.cardinality();
+        if (total == 0) return new PageImpl<>(Collections.emptyList(), pageable, 0);
+
+        Boolean idDescending = idOrder(pageable);
+        if (idDescending == null) {
+            // id 외의 컬럼으로 정렬하는 경우에는 정렬과 페이징은 DB에 맡긴다.
+            JPAQuery<Study> contentQuery = selectFrom(study)
+                    .join(study.host, user).fetchJoin()
+                    .where(hasHashTags(hashtags, matchAll));
+            List<Study> content = getQuerydsl().applyPagination(pageable, contentQuery).fetch();
+            return PageableExecutionUtils.getPage(content, pageable, () -> total);
+        }
+
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : (int) total;
+        List<Long> pageIds = StudyHashTagIndex.page(candidates, offset, limit, idDescending);
+        if (pageIds.isEmpty()) return new PageImpl<>(Collections.emptyList(), pageable, total);
+
+        Map<Long, Study> studies = selectFrom(study)
+                .join(study.host, user).fetchJoin()
+                .where(study.id.in(pageIds))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(Study::getId, Function.identity()));
+        List<Study> content = pageIds.stream()
+                .map(studies::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public CursorSlice<Study> scrollStudiesByHashtags(List<String> hashtags, boolean matchAll, String sort, String cursor, int size) {
+        KeysetSort<Study> keysetSort;
+        if (sort == null || sort.equals("id")) {
+            keysetSort = KeysetSort.byId(study.id, Study::getId, true);
+        } else if (sort.equals("lastAccessTime")) {
+            keysetSort = KeysetSort.byDateTime(study.lastAccessTime, Study::getLastAccessTime, study.id, Study::getId, true);
+        } else {
+            throw new BadRequestException("지원하지 않는 정렬 기준 입니다 : " + sort);
+        }
+
+        return applyCursorPagination(cursor, size, keysetSort, contentQuery -> contentQuery
+                .selectFrom(study)
+                .join(study.host, user).fetchJoin()
+                .where(hasHashTags(hashtags, matchAll)));
     }
 
+    // 정렬이 없거나 id만으로 정렬하면 비트맵 순서를 그대로 쓸 수 있다. 내림차순이면 true, 다른 정렬이 섞여 있으면 null
+    private Boolean idOrder(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted()) return false;
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() == 1 && orders.get(0).getProperty().equals("id")) return orders.get(0).isDescending();
+        return null;
+    }
 
     private BooleanExpression userEq(User registeredUser){
         return registeredUser != null ? joins.user.eq(registeredUser) : null;
@@ -86,6 +167,18 @@ public class StudyRepositorySupportImpl extends Querydsl4RepositorySupport imple
 
     }
 
+    private BooleanExpression hasHashTags(List<String> hashtags, boolean matchAll){
+        if (!matchAll) return containsHashTags(hashtags);
+        if (hashtags == null || hashtags.isEmpty()) return null;
+
+        List<String> distinctTags = hashtags.stream().distinct().collect(Collectors.toList());
+        return study.id.in(select(studyHashTag.study.id)
+                .from(studyHashTag)
+                .where(studyHashTag.hashTag.in(distinctTags))
+                .groupBy(studyHashTag.study.id)
+                .having(studyHashTag.hashTag.countDistinct().eq((long) distinctTags.size())));
+    }
+
     private BooleanExpression containsHashTags(List<String> hashtags){
         if (hashtags == null || hashtags.isEmpty()) return null;
 
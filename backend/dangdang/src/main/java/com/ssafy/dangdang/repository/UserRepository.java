@@ -4,6 +4,7 @@ import com.ssafy.dangdang.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.Param;
@@ -35,4 +36,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     countQuery ="select count(u) from User u where u.role <> 'ADMIN'" )
     Page<User> findAllExceptAdmin(Pageable pageable);
 
+    @Modifying
+    @Query("delete from User u where u.id = :userId")
+    int deleteUserById(@Param("userId") Long userId);
 }
@@ -0,0 +1,33 @@
+package com.ssafy.dangdang.repository.support;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 커서 기반 페이지 결과, count 쿼리 없이 다음 페이지 존재 여부와 다음 커서만 가진다.
+ * 다음 페이지는 nextCursor를 그대로 cursor 파라미터로 넘겨서 조회한다.
+ */
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    @Schema(description = "다음 페이지 커서, 마지막 페이지면 null", example = "MTY0NTY2MDgwMDAwMHwxMjM")
+    private final String nextCursor;
+
+    public CursorSlice(List<T> content, Pageable pageable, boolean hasNext, String nextCursor) {
+        super(content, pageable, hasNext);
+        this.nextCursor = nextCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public <U> CursorSlice<U> mapContent(Function<? super T, ? extends U> converter) {
+        List<U> converted = getContent().stream().map(converter).collect(Collectors.toList());
+        return new CursorSlice<>(converted, getPageable(), hasNext(), nextCursor);
+    }
+}
@@ -0,0 +1,324 @@
+package com.ssafy.dangdang.repository.support;
+
+import com.ssafy.dangdang.domain.event.InterviewQuestionChangedEvent;
+import com.ssafy.dangdang.domain.types.InterviewField;
+import com.ssafy.dangdang.domain.types.InterviewJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 면접 질문/답변 검색용 역색인
+ * LIKE '%검색어%'는 인덱스를 타지 못하므로, 질문과 답변을 글자 2-gram으로 쪼개서 gram -> (질문 id, 등장 횟수) 역색인을 만든다.
+ * 한국어는 띄어쓰기 단위가 아닌 글자 단위로 잘라야 "자바의"로 "자바"를 찾을 수 있으므로 형태소 분석 대신 bigram을 쓴다.
+ *  - 검색어의 모든 gram을 가진 질문만 후보로 뽑고, 후보는 원문 contains로 다시 확인하므로 결과는 LIKE 검색과 같다.
+ *  - 정렬은 TF-IDF 점수 순(질문에서 찾은 gram은 가중치 2배)이고, 점수가 같으면 최신순이다.
+ *  - 시작 시 전체를 다시 만들고, 질문이 바뀌면 커밋 이후 해당 질문만 DB에서 다시 읽어 반영한다. 다른 노드에는 Redis pub/sub으로 전달한다.
+ *  - 준비되기 전에는 ready()가 false가 되고, 호출하는 쪽은 SQL로 조회한다.
+ */
+@Slf4j
+@Component
+public class InterviewQuestionSearchIndex {
+
+    private static final String CHANNEL = "interview:search:changed";
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    private static final double QUESTION_WEIGHT = 2.0;
+    private static final String SELECT_ROW = "select q.id, q.field, q.job, q.visable, q.writer.id, q.question, q.answer from InterviewQuestion q ";
+
+    // 검색 대상 범위 : 전체(관리자), 공개 질문 + 내 질문, 내 질문
+    public enum Scope { ALL, VISIBLE_OR_MINE, MINE }
+
+    private final EntityManager entityManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Snapshot snapshot = new Snapshot();
+    private volatile boolean ready = false;
+    // 전체 재생성 도중에 바뀐 질문은 교체 이후에 다시 반영한다.
+    private volatile boolean rebuilding = false;
+    private final Set<String> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public InterviewQuestionSearchIndex(EntityManager entityManager,
+                                        StringRedisTemplate stringRedisTemplate,
+                                        RedisMessageListenerContainer listenerContainer) {
+        this.entityManager = entityManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(
+                (Message message, byte[] pattern) -> refresh(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+    }
+
+    public boolean ready() {
+        return ready;
+    }
+
+    /**
+     * 조건에 맞는 질문 id를 관련도 순으로 모두 반환한다.
+     * question/answer는 각각 질문/답변에 포함되어야 하는 문자열이고, null이면 조건에서 뺀다.
+     */
+    public List<Long> search(String field, String job, String question, String answer, Long viewerId, Scope scope) {
+        InterviewField fieldType = field != null ? InterviewField.valueOf(field) : null;
+        InterviewJob jobType = job != null ? InterviewJob.valueOf(job) : null;
+        String questionTerm = normalize(question);
+        String answerTerm = normalize(answer);
+        Set<String> questionGrams = grams(questionTerm).keySet();
+        Set<String> answerGrams = grams(answerTerm).keySet();
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> postings = new ArrayList<>();
+            if (!collect(snapshot.question, questionGrams, postings) || !collect(snapshot.answer, answerGrams, postings))
+                return Collections.emptyList();
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long id : candidates(postings)) {
+                Doc doc = snapshot.docs.get(id);
+                if (doc == null || !visible(doc, viewerId, scope)) continue;
+                if (fieldType != null && fieldType != doc.field) continue;
+                if (jobType != null && jobType != doc.job) continue;
+                if (questionTerm != null && !doc.question.contains(questionTerm)) continue;
+                if (answerTerm != null && !doc.answer.contains(answerTerm)) continue;
+                scores.put(id, QUESTION_WEIGHT * score(snapshot.question, questionGrams, doc.questionGrams, doc.questionLength)
+                        + score(snapshot.answer, answerGrams, doc.answerGrams, doc.answerLength));
+            }
+
+            List<Long> ids = new ArrayList<>(scores.keySet());
+            ids.sort(Comparator.comparing((Long id) -> scores.get(id)).reversed().thenComparing(Comparator.reverseOrder()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${interview.search-index.rebuild-interval-millis:3600000}",
+            initialDelayString = "${interview.search-index.rebuild-interval-millis:3600000}")
+    public void rebuild() {
+        rebuilding = true;
+        refreshedDuringRebuild.clear();
+        try {
+            Snapshot next = new Snapshot();
+            long lastId = 0;
+            while (true) {
+                List<Object[]> rows = entityManager
+                        .createQuery(SELECT_ROW + "where q.id > :lastId order by q.id", Object[].class)
+                        .setParameter("lastId", lastId)
+                        .setMaxResults(REBUILD_CHUNK_SIZE)
+                        .getResultList();
+                for (Object[] row : rows) next.add(Doc.of(row));
+                if (rows.size() < REBUILD_CHUNK_SIZE) break;
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+
+            lock.writeLock().lock();
+            try {
+                snapshot = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("면접 질문 검색 색인 생성 : 질문 {}개, gram {}개", next.docs.size(),
+                    next.question.byGram.size() + next.answer.byGram.size());
+        } catch (RuntimeException e) {
+            log.error("면접 질문 검색 색인 생성 실패", e);
+        } finally {
+            rebuilding = false;
+        }
+        new ArrayList<>(refreshedDuringRebuild).forEach(this::refresh);
+        refreshedDuringRebuild.clear();
+    }
+
+    // 커밋된 내용을 읽어야 하므로 커밋 이후에 반영하고, 다른 노드에도 알린다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(InterviewQuestionChangedEvent event) {
+        String key = event.getQuestionId() != null ? "q:" + event.getQuestionId() : "w:" + event.getWriterId();
+        refresh(key);
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, key);
+        } catch (RuntimeException e) {
+            log.warn("면접 질문 검색 색인 변경 전파 실패 : {}", key, e);
+        }
+    }
+
+    /**
+     * q:{질문 id}면 질문 하나를, w:{작성자 id}면 작성자의 모든 질문을 DB에서 다시 읽어 색인을 갱신한다.
+     */
+    public void refresh(String key) {
+        if (key == null || key.length() < 3) return;
+        if (rebuilding) refreshedDuringRebuild.add(key);
+        Long id = Long.valueOf(key.substring(2));
+        boolean byWriter = key.startsWith("w:");
+        List<Object[]> rows = entityManager
+                .createQuery(SELECT_ROW + (byWriter ? "where q.writer.id = :id" : "where q.id = :id"), Object[].class)
+                .setParameter("id", id)
+                .getResultList();
+
+        lock.writeLock().lock();
+        try {
+            if (byWriter) {
+                List<Long> written = new ArrayList<>();
+                for (Doc doc : snapshot.docs.values()) if (id.equals(doc.writerId)) written.add(doc.id);
+                written.forEach(snapshot::remove);
+            } else {
+                snapshot.remove(id);
+            }
+            for (Object[] row : rows) snapshot.add(Doc.of(row));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean collect(Postings field, Set<String> grams, List<Map<Long, Integer>> postings) {
+        for (String gram : grams) {
+            Map<Long, Integer> docs = field.byGram.get(gram);
+            if (docs == null) return false;
+            postings.add(docs);
+        }
+        return true;
+    }
+
+    // gram이 없는 검색어(한 글자 등)는 후보를 좁히지 못하므로 전체를 확인한다.
+    private Collection<Long> candidates(List<Map<Long, Integer>> postings) {
+        if (postings.isEmpty()) return snapshot.docs.keySet();
+        postings.sort(Comparator.comparingInt(Map::size));
+        List<Long> candidates = new ArrayList<>();
+        for (Long id : postings.get(0).keySet()) {
+            boolean all = true;
+            for (int i = 1; i < postings.size() && all; i++) all = postings.get(i).containsKey(id);
+            if (all) candidates.add(id);
+        }
+        return candidates;
+    }
+
+    private double score(Postings field, Set<String> queryGrams, Map<String, Integer> docGrams, int docLength) {
+        if (queryGrams.isEmpty() || docLength == 0) return 0;
+        double score = 0;
+        int total = snapshot.docs.size();
+        for (String gram : queryGrams) {
+            Integer tf = docGrams.get(gram);
+            if (tf == null) continue;
+            score += tf * Math.log(1 + (double) total / field.byGram.get(gram).size());
+        }
+        return score / Math.sqrt(docLength);
+    }
+
+    private static boolean visible(Doc doc, Long viewerId, Scope scope) {
+        boolean mine = viewerId != null && viewerId.equals(doc.writerId);
+        switch (scope) {
+            case MINE: return mine;
+            case VISIBLE_OR_MINE: return doc.visible || mine;
+            default: return true;
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null || text.isEmpty()) return null;
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    // 글자/숫자가 이어진 구간마다 2글자씩 잘라서 등장 횟수를 센다.
+    private static Map<String, Integer> grams(String normalized) {
+        Map<String, Integer> grams = new HashMap<>();
+        if (normalized == null) return grams;
+        int start = 0;
+        for (int i = 0; i <= normalized.length(); i++) {
+            if (i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i))) continue;
+            for (int j = start; j + 2 <= i; j++) grams.merge(normalized.substring(j, j + 2), 1, Integer::sum);
+            start = i + 1;
+        }
+        return grams;
+    }
+
+    private static final class Doc {
+        private final Long id;
+        private final InterviewField field;
+        private final InterviewJob job;
+        private final boolean visible;
+        private final Long writerId;
+        private final String question;
+        private final String answer;
+        private final Map<String, Integer> questionGrams;
+        private final Map<String, Integer> answerGrams;
+        private final int questionLength;
+        private final int answerLength;
+
+        private Doc(Object[] row) {
+            this.id = (Long) row[0];
+            this.field = (InterviewField) row[1];
+            this.job = (InterviewJob) row[2];
+            this.visible = Boolean.TRUE.equals(row[3]);
+            this.writerId = (Long) row[4];
+            String question = normalize((String) row[5]);
+            String answer = normalize((String) row[6]);
+            this.question = question == null ? "" : question;
+            this.answer = answer == null ? "" : answer;
+            this.questionGrams = grams(question);
+            this.answerGrams = grams(answer);
+            this.questionLength = questionGrams.values().stream().mapToInt(Integer::intValue).sum();
+            this.answerLength = answerGrams.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        private static Doc of(Object[] row) {
+            return new Doc(row);
+        }
+    }
+
+    private static final class Postings {
+        private final Map<String, Map<Long, Integer>> byGram = new HashMap<>();
+
+        private void add(Long id, Map<String, Integer> grams) {
+            grams.forEach((gram, count) -> byGram.computeIfAbsent(gram, key -> new HashMap<>()).put(id, count));
+        }
+
+        private void remove(Long id, Map<String, Integer> grams) {
+            for (String gram : grams.keySet()) {
+                Map<Long, Integer> docs = byGram.get(gram);
+                if (docs == null) continue;
+                docs.remove(id);
+                if (docs.isEmpty()) byGram.remove(gram);
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final Postings question = new Postings();
+        private final Postings answer = new Postings();
+
+        private void add(Doc doc) {
+            remove(doc.id);
+            docs.put(doc.id, doc);
+            question.add(doc.id, doc.questionGrams);
+            answer.add(doc.id, doc.answerGrams);
+        }
+
+        private void remove(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) return;
+            question.remove(id, doc.questionGrams);
+            answer.remove(id, doc.answerGrams);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ssafy.dangdang.repository.support;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.ssafy.dangdang.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * 커서 페이지네이션의 정렬 기준 (정렬 키 + id)
+ * 커서는 마지막으로 읽은 행의 "정렬키|id"를 Base64로 감싼 문자열이고, 다음 페이지는 OFFSET 대신
+ * (key, id) < (마지막 key, 마지막 id) 조건으로 인덱스를 타고 바로 이어서 읽는다.
+ * 정렬 키가 같은 행이 여러 개여도 id로 순서가 정해지므로 중복/누락이 없다.
+ * 정렬 키가 NULL인 행은 방향과 상관없이 맨 뒤에 id 순으로 오고, 커서에는 빈 키("|id")로 남는다.
+ */
+public class KeysetSort<T> {
+
+    private static final String SEPARATOR = "|";
+
+    private final NumberPath<Long> idPath;
+    private final Function<T, Long> idOf;
+    private final DateTimePath<LocalDateTime> keyPath;
+    private final Function<T, LocalDateTime> keyOf;
+    private final boolean descending;
+
+    private KeysetSort(NumberPath<Long> idPath, Function<T, Long> idOf,
+                       DateTimePath<LocalDateTime> keyPath, Function<T, LocalDateTime> keyOf, boolean descending) {
+        this.idPath = idPath;
+        this.idOf = idOf;
+        this.keyPath = keyPath;
+        this.keyOf = keyOf;
+        this.descending = descending;
+    }
+
+    // id로만 정렬
+    public static <T> KeysetSort<T> byId(NumberPath<Long> idPath, Function<T, Long> idOf, boolean descending) {
+        return new KeysetSort<>(idPath, idOf, null, null, descending);
+    }
+
+    // 날짜 컬럼으로 정렬하고 같은 날짜는 id로 정렬
+    public static <T> KeysetSort<T> byDateTime(DateTimePath<LocalDateTime> keyPath, Function<T, LocalDateTime> keyOf,
+                                               NumberPath<Long> idPath, Function<T, Long> idOf, boolean descending) {
+        return new KeysetSort<>(idPath, idOf, keyPath, keyOf, descending);
+    }
+
+    public OrderSpecifier<?>[] orderBy() {
+        Order order = descending ? Order.DESC : Order.ASC;
+        if (keyPath == null) return new OrderSpecifier<?>[]{new OrderSpecifier<>(order, idPath)};
+        return new OrderSpecifier<?>[]{new OrderSpecifier<>(order, keyPath).nullsLast(), new OrderSpecifier<>(order, idPath)};
+    }
+
+    /**
+     * 커서 다음 행들만 남기는 조건, 커서가 없으면(첫 페이지) null
+     */
+    public Predicate after(String cursor) {
+        if (cursor == null || cursor.isEmpty()) return null;
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("잘못된 커서 입니다.", e);
+        }
+        int separator = decoded.lastIndexOf(SEPARATOR);
+        if (separator < 0) throw new BadRequestException("잘못된 커서 입니다.");
+
+        try {
+            Long lastId = Long.valueOf(decoded.substring(separator + 1));
+            if (keyPath == null) return descending ? idPath.lt(lastId) : idPath.gt(lastId);
+
+            Predicate afterId = descending ? idPath.lt(lastId) : idPath.gt(lastId);
+            String key = decoded.substring(0, separator);
+            // NULL 키 구간에서는 NULL인 행끼리 id로만 이어서 읽는다.
+            if (key.isEmpty()) return keyPath.isNull().and(afterId);
+
+            LocalDateTime lastKey = LocalDateTime.parse(key);
+            return (descending ? keyPath.lt(lastKey) : keyPath.gt(lastKey))
+                    .or(keyPath.eq(lastKey).and(afterId))
+                    .or(keyPath.isNull());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new BadRequestException("잘못된 커서 입니다.", e);
+        }
+    }
+
+    public String cursorOf(T last) {
+        LocalDateTime lastKey = keyOf == null ? null : keyOf.apply(last);
+        String key = lastKey == null ? "" : lastKey.toString();
+        String raw = key + SEPARATOR + idOf.apply(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,11 +2,14 @@ package com.ssafy.dangdang.repository.support;
 
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.ssafy.dangdang.exception.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
@@ -18,12 +21,16 @@ import org.springframework.util.Assert;
 
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 
 @Repository
 public abstract class Querydsl4RepositorySupport {
 
+    // 커서 조회 한 번에 읽을 수 있는 최대 행 수
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final Class domainClass;
     private Querydsl querydsl;
     private EntityManager entityManager;
@@ -93,4 +100,29 @@ public abstract class Querydsl4RepositorySupport {
         return PageableExecutionUtils.getPage(content, pageable, countResult::fetchCount);
     }
 
+    /**
+     * OFFSET/count 쿼리 없이 커서 다음부터 size개를 조회한다.
+     * size + 1개를 읽어서 다음 페이지가 있는지 판단하고, 마지막 행으로 다음 커서를 만든다.
+     * contentQuery에는 정렬을 넣지 않는다. (keysetSort의 정렬이 적용됨)
+     */
+    protected <T> CursorSlice<T> applyCursorPagination(String cursor, int size, KeysetSort<T> keysetSort,
+                                                       Function<JPAQueryFactory, JPAQuery<T>> contentQuery) {
+        if (size <= 0) throw new BadRequestException("size는 0보다 커야 합니다.");
+        size = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+
+        JPAQuery<T> jpaContentQuery = contentQuery.apply(getQueryFactory());
+        Predicate after = keysetSort.after(cursor);
+        if (after != null) jpaContentQuery.where(after);
+
+        List<T> rows = jpaContentQuery
+                .orderBy(keysetSort.orderBy())
+                .limit(size + 1)
+                .fetch();
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = hasNext ? keysetSort.cursorOf(content.get(content.size() - 1)) : null;
+        return new CursorSlice<>(content, PageRequest.of(0, size), hasNext, nextCursor);
+    }
+
 }
\ No newline at end of file
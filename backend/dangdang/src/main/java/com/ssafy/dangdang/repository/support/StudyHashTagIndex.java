@@ -0,0 +1,224 @@
+package com.ssafy.dangdang.repository.support;
+
+import com.ssafy.dangdang.domain.event.StudyChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 해쉬태그 -> 스터디 id 비트맵 역색인
+ * 스터디 목록의 해쉬태그 검색은 "어떤 스터디가 이 태그를 가지고 있는가"만 알면 되므로, 서브쿼리 대신 비트 연산으로 후보 id와 개수를 구한다.
+ *  - 시작 시 전체를 다시 만들고, 스터디가 바뀌면 커밋 이후 해당 스터디만 DB에서 다시 읽어 반영한다.
+ *  - 다른 노드에서 바뀐 스터디는 Redis pub/sub으로 전달받는다.
+ *  - 준비되기 전이거나 id가 int 범위를 넘으면 ready()가 false가 되고, 호출하는 쪽은 SQL로 조회한다.
+ */
+@Slf4j
+@Component
+public class StudyHashTagIndex {
+
+    private static final String CHANNEL = "study:hashtag:changed";
+
+    private final EntityManager entityManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, BitSet> studiesByTag = new HashMap<>();
+    private Map<Integer, Set<String>> tagsByStudy = new HashMap<>();
+    private BitSet allStudies = new BitSet();
+    private volatile boolean ready = false;
+    // 전체 재생성 도중에 갱신된 스터디는 교체 이후에 다시 반영한다.
+    private volatile boolean rebuilding = false;
+    private final Set<Long> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public StudyHashTagIndex(EntityManager entityManager,
+                             StringRedisTemplate stringRedisTemplate,
+                             RedisMessageListenerContainer listenerContainer) {
+        this.entityManager = entityManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(
+                (Message message, byte[] pattern) -> refresh(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(CHANNEL));
+    }
+
+    public boolean ready() {
+        return ready;
+    }
+
+    /**
+     * 태그 중 하나라도 가진 스터디(matchAll = false) 또는 모든 태그를 가진 스터디(matchAll = true)의 id 비트맵
+     * 태그가 없으면 전체 스터디를 반환한다. 반환값은 복사본이므로 자유롭게 수정해도 된다.
+     */
+    public BitSet find(Collection<String> hashTags, boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            if (hashTags == null || hashTags.isEmpty()) return (BitSet) allStudies.clone();
+            BitSet result = null;
+            for (String tag : new LinkedHashSet<>(hashTags)) {
+                BitSet studies = studiesByTag.get(tag);
+                if (studies == null) {
+                    if (matchAll) return new BitSet();
+                    continue;
+                }
+                if (result == null) result = (BitSet) studies.clone();
+                else if (matchAll) result.and(studies);
+                else result.or(studies);
+            }
+            return result == null ? new BitSet() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 비트맵에서 id 내림차순(최신순) 또는 오름차순으로 offset부터 limit개의 id를 꺼낸다.
+     */
+    public static List<Long> page(BitSet ids, long offset, int limit, boolean descending) {
+        List<Long> page = new ArrayList<>(limit);
+        long skipped = 0;
+        if (descending) {
+            for (int id = ids.length() - 1; id >= 0 && page.size() < limit; id = ids.previousSetBit(id - 1)) {
+                if (skipped++ >= offset) page.add((long) id);
+            }
+        } else {
+            for (int id = ids.nextSetBit(0); id >= 0 && page.size() < limit; id = ids.nextSetBit(id + 1)) {
+                if (skipped++ >= offset) page.add((long) id);
+            }
+        }
+        return page;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${study.hashtag-index.rebuild-interval-millis:3600000}",
+            initialDelayString = "${study.hashtag-index.rebuild-interval-millis:3600000}")
+    public void rebuild() {
+        rebuilding = true;
+        refreshedDuringRebuild.clear();
+        try {
+            List<Long> studyIds = entityManager
+                    .createQuery("select s.id from Study s", Long.class)
+                    .getResultList();
+            List<Object[]> rows = entityManager
+                    .createQuery("select h.study.id, h.hashTag from StudyHashTag h", Object[].class)
+                    .getResultList();
+
+            Map<String, BitSet> nextByTag = new HashMap<>();
+            Map<Integer, Set<String>> nextByStudy = new HashMap<>();
+            BitSet nextAll = new BitSet();
+            for (Long studyId : studyIds) {
+                if (studyId > Integer.MAX_VALUE) {
+                    log.warn("스터디 id가 int 범위를 넘어 해쉬태그 역색인을 사용하지 않습니다 : {}", studyId);
+                    ready = false;
+                    return;
+                }
+                nextAll.set(studyId.intValue());
+            }
+            for (Object[] row : rows) {
+                int studyId = ((Long) row[0]).intValue();
+                String tag = (String) row[1];
+                if (tag == null || !nextAll.get(studyId)) continue;
+                nextByTag.computeIfAbsent(tag, key -> new BitSet()).set(studyId);
+                nextByStudy.computeIfAbsent(studyId, key -> new HashSet<>()).add(tag);
+            }
+
+            lock.writeLock().lock();
+            try {
+                studiesByTag = nextByTag;
+                tagsByStudy = nextByStudy;
+                allStudies = nextAll;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("스터디 해쉬태그 역색인 생성 : 스터디 {}개, 태그 {}개", nextAll.cardinality(), nextByTag.size());
+        } catch (RuntimeException e) {
+            log.error("스터디 해쉬태그 역색인 생성 실패", e);
+        } finally {
+            rebuilding = false;
+        }
+        new ArrayList<>(refreshedDuringRebuild).forEach(this::refresh);
+        refreshedDuringRebuild.clear();
+    }
+
+    // 커밋된 내용을 읽어야 하므로 커밋 이후에 반영하고, 다른 노드에도 알린다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudyChanged(StudyChangedEvent event) {
+        refresh(event.getStudyId());
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, String.valueOf(event.getStudyId()));
+        } catch (RuntimeException e) {
+            log.warn("스터디 해쉬태그 변경 전파 실패 : {}", event.getStudyId(), e);
+        }
+    }
+
+    /**
+     * 스터디 하나의 태그를 DB에서 다시 읽어 색인을 갱신한다. 스터디가 없으면 색인에서 제거한다.
+     */
+    public void refresh(Long studyId) {
+        if (studyId == null) return;
+        if (rebuilding) refreshedDuringRebuild.add(studyId);
+        if (studyId > Integer.MAX_VALUE) {
+            ready = false;
+            return;
+        }
+        boolean exists = !entityManager
+                .createQuery("select s.id from Study s where s.id = :studyId", Long.class)
+                .setParameter("studyId", studyId)
+                .getResultList().isEmpty();
+        List<String> tags = exists
+                ? entityManager.createQuery("select h.hashTag from StudyHashTag h where h.study.id = :studyId", String.class)
+                        .setParameter("studyId", studyId)
+                        .getResultList()
+                : Collections.emptyList();
+        apply(studyId.intValue(), exists, tags);
+    }
+
+    private void apply(int studyId, boolean exists, Collection<String> tags) {
+        lock.writeLock().lock();
+        try {
+            Set<String> oldTags = tagsByStudy.remove(studyId);
+            if (oldTags != null) {
+                for (String tag : oldTags) {
+                    BitSet studies = studiesByTag.get(tag);
+                    if (studies == null) continue;
+                    studies.clear(studyId);
+                    if (studies.isEmpty()) studiesByTag.remove(tag);
+                }
+            }
+            if (!exists) {
+                allStudies.clear(studyId);
+                return;
+            }
+            allStudies.set(studyId);
+            Set<String> newTags = new HashSet<>();
+            for (String tag : tags) {
+                if (tag == null) continue;
+                newTags.add(tag);
+                studiesByTag.computeIfAbsent(tag, key -> new BitSet()).set(studyId);
+            }
+            if (!newTags.isEmpty()) tagsByStudy.put(studyId, newTags);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ssafy.dangdang.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.dangdang.domain.dto.CommentDelta;
+import com.ssafy.dangdang.domain.event.CommentChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+
+/**
+ * 댓글 변경분을 /topic/comment/{commentType}/{referenceId} 구독자에게 보낸다.
+ * redis.enabled면 Redis 채널에 한 번 발행하고, 모든 노드(자신 포함)가 받아서 자기 브로커의 구독자에게 보낸다.
+ * Redis 발행에 실패하면 현재 노드의 구독자에게라도 보낸다.
+ */
+@Slf4j
+@Component
+public class CommentDeltaPublisher {
+
+    private static final String CHANNEL = "comment:delta";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+
+    public CommentDeltaPublisher(SimpMessagingTemplate messagingTemplate,
+                                 StringRedisTemplate stringRedisTemplate,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 ObjectMapper objectMapper,
+                                 @Value("${comment.live.redis.enabled:true}") boolean redisEnabled) {
+        this.messagingTemplate = messagingTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (!redisEnabled) return;
+        listenerContainer.addMessageListener((Message message, byte[] pattern) -> {
+            try {
+                sendLocal(objectMapper.readValue(message.getBody(), CommentDelta.class));
+            } catch (IOException e) {
+                log.warn("댓글 변경분 역직렬화 실패", e);
+            }
+        }, new ChannelTopic(CHANNEL));
+    }
+
+    // 롤백된 변경은 보내지 않는다. 트랜잭션 밖에서 발행된 경우 바로 보낸다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        CommentDelta delta = event.getDelta();
+        if (delta.getCommentType() == null || delta.getReferenceId() == null) return;
+        if (redisEnabled) {
+            try {
+                stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(delta));
+                return;
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("댓글 변경분 전파 실패, 현재 노드에만 보냅니다 : {}", delta.topic(), e);
+            }
+        }
+        sendLocal(delta);
+    }
+
+    private void sendLocal(CommentDelta delta) {
+        try {
+            messagingTemplate.convertAndSend(delta.topic(), delta);
+        } catch (RuntimeException e) {
+            log.warn("댓글 변경분 전송 실패 : {}", delta.topic(), e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.domain.Comment;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Comment에 선언한 인덱스(@CompoundIndex, @Indexed)를 시작할 때 실제 컬렉션의 인덱스와 비교해서 만든다.
+ * MongoDBConfig의 MongoTemplate은 자동 인덱스 생성을 하지 않으므로 여기서 직접 ensureIndex 한다.
+ *  - 없는 인덱스는 만들고, 같은 이름인데 키가 다른 인덱스는 지우지 않고 경고만 남긴다. (운영 중에 인덱스를 지우면 조회가 풀스캔이 된다)
+ *  - 선언되지 않은 인덱스도 지우지 않고 보고만 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentIndexManager {
+
+    private final MongoTemplate mongoTemplate;
+
+    // 트리 이전 등 다른 시작 작업보다 먼저 인덱스를 만든다.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            Report report = ensureIndexes(Comment.class, mongoTemplate.getCollectionName(Comment.class));
+            log.info("댓글 인덱스 : 선언 {}개, 일치 {} / 생성 {} / 충돌 {} / 선언되지 않음 {}",
+                    report.getDeclared(), report.getMatched(), report.getCreated(), report.getConflicting(), report.getUndeclared());
+            if (!report.getConflicting().isEmpty())
+                log.warn("댓글 인덱스 중 선언과 키가 다른 인덱스가 있습니다. 직접 지운 뒤 다시 시작해주세요 : {}", report.getConflicting());
+        } catch (RuntimeException e) {
+            log.error("댓글 인덱스 생성 실패", e);
+        }
+    }
+
+    /**
+     * type에 선언된 인덱스를 collection에 만들고, 기존 인덱스와 비교한 결과를 돌려준다.
+     */
+    public Report ensureIndexes(Class<?> type, String collection) {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        IndexOperations indexOps = mongoTemplate.indexOps(collection);
+
+        Map<String, IndexInfo> existing = new LinkedHashMap<>();
+        for (IndexInfo info : indexOps.getIndexInfo()) existing.put(info.getName(), info);
+
+        Report report = new Report();
+        Set<String> declaredNames = new HashSet<>();
+        for (IndexDefinition definition : resolver.resolveIndexFor(type)) {
+            String name = definition.getIndexOptions().getString("name");
+            String keys = keysOf(definition.getIndexKeys());
+            declaredNames.add(name);
+            report.declared++;
+
+            IndexInfo info = existing.get(name);
+            if (info == null) {
+                IndexInfo sameKeys = existing.values().stream()
+                        .filter(candidate -> keysOf(candidate).equals(keys))
+                        .findFirst().orElse(null);
+                if (sameKeys != null) {
+                    // 이름만 다른 같은 인덱스는 다시 만들 수 없으므로 그대로 쓴다.
+                    declaredNames.add(sameKeys.getName());
+                    report.matched.add(name + "(" + sameKeys.getName() + ")");
+                    continue;
+                }
+                indexOps.ensureIndex(definition);
+                report.created.add(name);
+            } else if (keysOf(info).equals(keys) && info.isUnique() == definition.getIndexOptions().getBoolean("unique", false)) {
+                report.matched.add(name);
+            } else {
+                report.conflicting.add(name + " " + keysOf(info) + " -> " + keys);
+            }
+        }
+        existing.keySet().stream()
+                .filter(name -> !"_id_".equals(name) && !declaredNames.contains(name))
+                .forEach(report.undeclared::add);
+        return report;
+    }
+
+    private static String keysOf(Document keys) {
+        return keys.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue())
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static String keysOf(IndexInfo info) {
+        return info.getIndexFields().stream()
+                .map(CommentIndexManager::keyOf)
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static String keyOf(IndexField field) {
+        if (field.getDirection() == Sort.Direction.ASC) return field.getKey() + ":1";
+        if (field.getDirection() == Sort.Direction.DESC) return field.getKey() + ":-1";
+        return field.getKey() + ":" + (field.isText() ? "text" : "geo");
+    }
+
+    @Getter
+    public static class Report {
+        private int declared;
+        private final List<String> matched = new ArrayList<>();
+        private final List<String> created = new ArrayList<>();
+        private final List<String> conflicting = new ArrayList<>();
+        private final List<String> undeclared = new ArrayList<>();
+    }
+}
@@ -8,6 +8,8 @@ import com.ssafy.dangdang.util.ApiUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CommentService {
@@ -24,5 +26,9 @@ public interface CommentService {
 
     public ApiUtils.ApiResult<String> deleteComment(Comment comment);
 
+    public long countComments(CommentType commentType, Long referenceId);
+
+    public Map<Long, Long> countComments(CommentType commentType, Collection<Long> referenceIds);
+
     public Optional<Comment> findById(String commentId);
 }
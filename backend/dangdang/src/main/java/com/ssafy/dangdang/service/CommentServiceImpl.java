@@ -2,20 +2,26 @@ package com.ssafy.dangdang.service;
 
 import com.ssafy.dangdang.domain.Comment;
 import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.domain.dto.CommentDelta;
 import com.ssafy.dangdang.domain.dto.CommentDto;
+import com.ssafy.dangdang.domain.event.CommentChangedEvent;
 import com.ssafy.dangdang.domain.types.CommentType;
 import com.ssafy.dangdang.domain.types.UserRoleType;
 import com.ssafy.dangdang.exception.UnauthorizedAccessException;
 import com.ssafy.dangdang.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,23 +33,26 @@ import static com.ssafy.dangdang.util.ApiUtils.*;
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
     public CommentDto writeComment(User user, CommentDto commentDto) {
         Comment comment;
         if (commentDto.getParentId() != null){
-            Comment parent = commentRepository.findCommentById(commentDto.getParentId()).get();
+            Comment parent = commentRepository.findCommentById(commentDto.getParentId())
+                    .orElseThrow(() -> new NullPointerException("존재하지 않는 댓글 입니다."));
             commentDto.setDepth(parent.getDepth()+1);
             comment = Comment.of(user, commentDto);
-            commentRepository.save(comment);
-            parent.getChildren().add(comment);
-            commentRepository.save(parent);
+            comment.placeUnder(parent);
         } else{
             commentDto.setDepth(0);
             comment = Comment.of(user, commentDto);
-            commentRepository.save(comment);
+            comment.placeUnder(null);
         }
+        // 부모 문서를 다시 저장하지 않고 $push로 답글을 붙이므로 동시에 달린 답글이 유실되지 않는다.
+        if (!commentRepository.insertComment(comment)) throw new NullPointerException("존재하지 않는 댓글 입니다.");
+        eventPublisher.publishEvent(new CommentChangedEvent(CommentDelta.created(comment)));
         return CommentDto.of(comment);
     }
 
@@ -52,45 +61,13 @@ public class CommentServiceImpl implements CommentService {
         Optional<Comment> comment = commentRepository.findCommentById(commentDto.getId());
         if (!comment.isPresent()) throw new NullPointerException("존재하지 않는 댓글 입니다.");
         if (comment.get().getWriterId() != user.getId() && user.getRole() != UserRoleType.ADMIN)  throw new UnauthorizedAccessException("작성자만이 삭제할 수 있습니다.");
-        Comment updateComment ;
-
-        if (comment.get().getChildren() != null){
-
-            List<Comment> children = comment.get().getChildren();
-
-            updateComment =  Comment.builder()
-                    .id(commentDto.getId())
-                    .content(commentDto.getContent())
-                    .depth(comment.get().getDepth())
-                    .createdAt(comment.get().getCreatedAt())
-                    .updatedAt(LocalDateTime.now())
-                    .writerNickname(user.getNickname())
-                    .writerEmail(user.getEmail())
-                    .writerId(user.getId())
-                    .writerImageUrl(user.getImageUrl())
-                    .referenceId(comment.get().getReferenceId())
-                    .commentType(comment.get().getCommentType())
-                    .children(children)
-                    .build();
-        }
-        else{
-            updateComment = Comment.builder()
-                    .id(commentDto.getId())
-                    .content(commentDto.getContent())
-                    .depth(comment.get().getDepth())
-                    .createdAt(comment.get().getCreatedAt())
-                    .updatedAt(LocalDateTime.now())
-                    .writerNickname(user.getNickname())
-                    .writerEmail(user.getEmail())
-                    .writerId(user.getId())
-                    .writerImageUrl(user.getImageUrl())
-                    .referenceId(comment.get().getReferenceId())
-                    .commentType(comment.get().getCommentType())
-                    .build();
-        }
-
-
-        commentRepository.save(updateComment);
+        Comment updateComment = comment.get();
+        updateComment.updateContent(commentDto.getContent());
+        updateComment.setWriterNickname(user.getNickname());
+        updateComment.setWriterEmail(user.getEmail());
+        updateComment.setWriterImageUrl(user.getImageUrl());
+        commentRepository.updateContent(updateComment);
+        eventPublisher.publishEvent(new CommentChangedEvent(CommentDelta.updated(updateComment)));
         return success(CommentDto.of(updateComment));
     }
 
@@ -98,8 +75,13 @@ public class CommentServiceImpl implements CommentService {
     @Transactional
     public Page<CommentDto> findCommentByReferenceIdWithPage(Long postId, CommentType commentType, Pageable pageable) {
         Page<Comment> comments = commentRepository.findByReferenceIdAndDepthAndCommentType(postId, 0, commentType, pageable);
-        Page<CommentDto> commentDtos = comments.map( comment -> CommentDto.of(comment));
-        return commentDtos;
+        // 답글은 DBRef를 하나씩 따라가지 않고 rootId로 한 번에 조회해서 트리를 만든다.
+        List<String> rootIds = comments.getContent().stream()
+                .map(Comment::getRootId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        List<Comment> replies = commentRepository.findReplies(rootIds);
+        return new PageImpl<>(CommentDto.trees(comments.getContent(), replies), pageable, comments.getTotalElements());
     }
 
     @Override
@@ -108,29 +90,28 @@ public class CommentServiceImpl implements CommentService {
         Optional<Comment> comment = commentRepository.findCommentById(CommentId);
         if (!comment.isPresent())  throw new NullPointerException("존재하지 않는 댓글 입니다.");
         if(comment.get().getWriterId() != user.getId()) throw new UnauthorizedAccessException("작성자만 삭제할 수 있습니ㅏㄷ.");
-        if(!comment.get().getChildren().isEmpty()){
-            for (Comment child:
-                 comment.get().getChildren()) {
-                this.deleteComment(child);
-            }
-        }
-        commentRepository.delete(comment.get());
+        long removed = commentRepository.deleteSubtree(comment.get());
+        eventPublisher.publishEvent(new CommentChangedEvent(CommentDelta.deleted(comment.get(), removed)));
         return success("댓글 삭제 성공!");
     }
 
     @Override
     public ApiResult<String> deleteComment(Comment comment) {
-
-        if(!comment.getChildren().isEmpty()){
-            for (Comment child:
-                    comment.getChildren()) {
-                    this.deleteComment(child);
-            }
-        }
-        commentRepository.delete(comment);
+        long removed = commentRepository.deleteSubtree(comment);
+        eventPublisher.publishEvent(new CommentChangedEvent(CommentDelta.deleted(comment, removed)));
         return success("댓글 삭제 성공!");
     }
 
+    @Override
+    public long countComments(CommentType commentType, Long referenceId) {
+        return commentRepository.countByReference(commentType, referenceId);
+    }
+
+    @Override
+    public Map<Long, Long> countComments(CommentType commentType, Collection<Long> referenceIds) {
+        return commentRepository.countByReferences(commentType, referenceIds);
+    }
+
     @Override
     public Optional<Comment> findById(String commentId){
         return commentRepository.findCommentById(commentId);
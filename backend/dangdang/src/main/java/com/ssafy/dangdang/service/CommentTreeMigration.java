@@ -0,0 +1,153 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.domain.Comment;
+import com.ssafy.dangdang.domain.CommentCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * rootId/ancestors/replyCount가 없는 이전 댓글 트리를 DBRef(children)를 따라가며 채운다.
+ * 채우기 전의 트리는 조회 시 DBRef로 만들어지므로, 서버가 떠 있는 동안 천천히 이전해도 된다.
+ * 댓글 수는 migration 컬렉션에 완료 표시가 없을 때 한 번 재집계하고, 이후에는 주기적으로 다시 맞춘다.
+ */
+@Slf4j
+@Component
+public class CommentTreeMigration {
+
+    private static final String MIGRATION_COLLECTION = "migration";
+    private static final String COUNTER_MIGRATION = "comment-counter";
+    private static final String COUNTER_LOCK = "comment-counter-lock";
+
+    private final MongoTemplate mongoTemplate;
+    private final long reconcileIntervalMillis;
+
+    public CommentTreeMigration(MongoTemplate mongoTemplate,
+                                @Value("${comment.counter.reconcile-interval-millis:86400000}") long reconcileIntervalMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        Query legacyRoots = Query.query(Criteria.where("depth").is(0).and("rootId").exists(false));
+        long migrated = 0;
+        try (CloseableIterator<Comment> roots = mongoTemplate.stream(legacyRoots, Comment.class)) {
+            while (roots.hasNext()) {
+                Comment root = roots.next();
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Comment.class);
+                migrated += place(root, root.getId(), new ArrayList<>(), bulk, new HashSet<>());
+                bulk.execute();
+            }
+        } catch (RuntimeException e) {
+            log.error("댓글 트리 이전 실패", e);
+        }
+        if (migrated > 0) log.info("댓글 트리 이전 : {}개", migrated);
+
+        // 댓글 수 컬렉션이 일부만 채워진 채로 배포되었을 수 있으므로, 비어있는지가 아니라 완료 표시로 판단한다.
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(COUNTER_MIGRATION)), MIGRATION_COLLECTION)) return;
+        reconcileCounters();
+    }
+
+    // $inc가 유실되거나 중간에 실패한 삭제로 어긋난 댓글 수를 주기적으로 다시 맞춘다. 여러 노드 중 한 노드만 실행한다.
+    @Scheduled(fixedDelayString = "${comment.counter.reconcile-interval-millis:86400000}",
+            initialDelayString = "${comment.counter.reconcile-interval-millis:86400000}")
+    public void reconcileCounters() {
+        if (!tryLock()) return;
+        try {
+            rebuildCounters();
+            mongoTemplate.save(new Document("_id", COUNTER_MIGRATION).append("appliedAt", new Date()), MIGRATION_COLLECTION);
+        } catch (RuntimeException e) {
+            log.error("댓글 수 재집계 실패", e);
+            // 실패했으면 다른 노드나 다음 시작 때 다시 시도할 수 있도록 잠금을 푼다.
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(COUNTER_LOCK)), MIGRATION_COLLECTION);
+        }
+    }
+
+    /**
+     * 게시글/스터디/자소서별 댓글 수를 댓글 컬렉션에서 다시 세고, 댓글이 없는 댓글 수는 지운다.
+     * 집계를 시작한 뒤에 $inc된 댓글 수(updatedAt이 시작 시각 이후)는 집계에 빠졌을 수 있으므로 덮어쓰거나 지우지 않고 다음 재집계에 맡긴다.
+     */
+    public void rebuildCounters() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Aggregation countByReference = Aggregation.newAggregation(
+                Aggregation.group("commentType", "referenceId").count().as("count"),
+                Aggregation.project("commentType", "referenceId", "count").andExclude("_id"));
+        List<CommentCounter> counts = mongoTemplate.aggregate(countByReference, Comment.class, CommentCounter.class).getMappedResults();
+        List<String> counterIds = new ArrayList<>();
+        for (CommentCounter count : counts) {
+            if (count.getCommentType() == null || count.getReferenceId() == null) continue;
+            String counterId = CommentCounter.idOf(count.getCommentType(), count.getReferenceId());
+            counterIds.add(counterId);
+            long matched = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(counterId).andOperator(notUpdatedSince(startedAt))),
+                    Update.update("count", count.getCount()).set("updatedAt", startedAt),
+                    CommentCounter.class).getMatchedCount();
+            if (matched > 0) continue;
+            // 댓글 수가 없을 때만 만든다. 그 사이 $inc로 만들어졌으면 그대로 둔다.
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(counterId)),
+                    new Update().setOnInsert("count", count.getCount())
+                            .setOnInsert("commentType", count.getCommentType())
+                            .setOnInsert("referenceId", count.getReferenceId())
+                            .setOnInsert("updatedAt", startedAt),
+                    CommentCounter.class);
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").nin(counterIds).andOperator(notUpdatedSince(startedAt))),
+                CommentCounter.class);
+        log.info("댓글 수 재집계 : {}건", counts.size());
+    }
+
+    private static Criteria notUpdatedSince(LocalDateTime startedAt) {
+        return new Criteria().orOperator(
+                Criteria.where("updatedAt").lt(startedAt),
+                Criteria.where("updatedAt").exists(false));
+    }
+
+    /**
+     * migration 컬렉션의 잠금 문서를 재집계 주기의 절반 동안 가져간다.
+     * 만료되지 않은 잠금이 있으면 조건에 맞는 문서가 없어 upsert가 같은 _id를 넣으려다 실패한다.
+     * 재집계가 끝나도 풀지 않으므로 주기마다 한 노드만 실행한다.
+     */
+    private boolean tryLock() {
+        Date now = new Date();
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(COUNTER_LOCK).and("lockedUntil").lt(now)),
+                    Update.update("lockedUntil", new Date(now.getTime() + reconcileIntervalMillis / 2)),
+                    MIGRATION_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private int place(Comment comment, String rootId, List<String> ancestors, BulkOperations bulk, Set<String> visited) {
+        if (comment == null || !visited.add(comment.getId())) return 0;
+        int replyCount = comment.getChildren() == null ? 0 : (int) comment.getChildren().stream().filter(Objects::nonNull).count();
+        bulk.updateOne(Query.query(Criteria.where("_id").is(comment.getId())),
+                Update.update("rootId", rootId).set("ancestors", ancestors).set("replyCount", replyCount));
+
+        List<String> path = new ArrayList<>(ancestors);
+        path.add(comment.getId());
+        int placed = 1;
+        if (comment.getChildren() == null) return placed;
+        for (Comment child : comment.getChildren()) {
+            placed += place(child, rootId, path, bulk, visited);
+        }
+        return placed;
+    }
+}
@@ -0,0 +1,164 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.domain.dto.ProfileSyncStatus;
+import com.ssafy.dangdang.domain.event.UserProfileChangedEvent;
+import com.ssafy.dangdang.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 유저 정보가 바뀌면 댓글에 복사해 둔 작성자 정보를 writerId 기준 updateMulti 한 번으로 고친다.
+ *  - MySQL 커밋 이후에 전용 스레드에서 실행하므로 회원정보 수정 요청은 댓글 수와 상관없이 바로 끝난다.
+ *  - 실패하면 maxAttempts 번까지 backoff를 늘려가며 다시 시도한다. 같은 값을 $set 하므로 여러 번 실행해도 결과는 같다.
+ *  - 진행 상태는 Redis(profile-sync:{userId})에 남겨서 어느 노드에서든 조회할 수 있고, 남은 댓글 수는 조회할 때 Mongo에서 센다.
+ */
+@Slf4j
+@Component
+public class CommentWriterSync {
+
+    private static final String KEY_PREFIX = "profile-sync:";
+    private static final Duration STATUS_TTL = Duration.ofDays(1);
+
+    private final CommentRepository commentRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public CommentWriterSync(CommentRepository commentRepository,
+                             StringRedisTemplate stringRedisTemplate,
+                             @Qualifier("profileSyncExecutor") ThreadPoolTaskExecutor executor,
+                             @Value("${comment.writer-sync.max-attempts:3}") int maxAttempts,
+                             @Value("${comment.writer-sync.backoff-millis:1000}") long backoffMillis) {
+        this.commentRepository = commentRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.executor = executor;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    // 롤백되면 유저 정보가 그대로이므로 커밋 이후에만 전파한다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        Map<String, String> status = new HashMap<>();
+        status.put("state", "PENDING");
+        status.put("attempts", "0");
+        status.put("requestedAt", String.valueOf(System.currentTimeMillis()));
+        status.put("nickname", nullToEmpty(event.getNickname()));
+        status.put("email", nullToEmpty(event.getEmail()));
+        status.put("imageUrl", nullToEmpty(event.getImageUrl()));
+        writeStatus(event.getUserId(), status, true);
+        try {
+            executor.execute(() -> sync(event));
+        } catch (TaskRejectedException e) {
+            log.error("작성자 정보 전파 대기열 초과 : userId {}", event.getUserId(), e);
+            writeStatus(event.getUserId(), failed(0, e), false);
+        }
+    }
+
+    public ProfileSyncStatus status(User user) {
+        Map<Object, Object> status = readStatus(user.getId());
+        // 진행 중인 전파가 있으면 그 목표값과, 없으면 현재 유저 정보와 비교해서 남은 댓글 수를 센다.
+        String nickname = status.isEmpty() ? user.getNickname() : emptyToNull((String) status.get("nickname"));
+        String email = status.isEmpty() ? user.getEmail() : emptyToNull((String) status.get("email"));
+        String imageUrl = status.isEmpty() ? user.getImageUrl() : emptyToNull((String) status.get("imageUrl"));
+        return ProfileSyncStatus.builder()
+                .state(status.isEmpty() ? "NONE" : (String) status.get("state"))
+                .attempts(status.isEmpty() ? 0 : Integer.parseInt((String) status.get("attempts")))
+                .totalComments(commentRepository.countByWriterId(user.getId()))
+                .remainingComments(commentRepository.countStaleByWriter(user.getId(), nickname, email, imageUrl))
+                .requestedAt(toDateTime(status.get("requestedAt")))
+                .finishedAt(toDateTime(status.get("finishedAt")))
+                .lastError((String) status.get("lastError"))
+                .build();
+    }
+
+    private void sync(UserProfileChangedEvent event) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            Map<String, String> running = new HashMap<>();
+            running.put("state", "RUNNING");
+            running.put("attempts", String.valueOf(attempt));
+            writeStatus(event.getUserId(), running, false);
+            try {
+                long modified = commentRepository.updateWriterProfile(
+                        event.getUserId(), event.getNickname(), event.getEmail(), event.getImageUrl());
+                Map<String, String> done = new HashMap<>();
+                done.put("state", "DONE");
+                done.put("finishedAt", String.valueOf(System.currentTimeMillis()));
+                writeStatus(event.getUserId(), done, false);
+                log.debug("작성자 정보 전파 완료 : userId {}, 댓글 {}개", event.getUserId(), modified);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("작성자 정보 전파 실패 ({}/{}) : userId {}", attempt, maxAttempts, event.getUserId(), e);
+                if (attempt == maxAttempts) {
+                    writeStatus(event.getUserId(), failed(attempt, e), false);
+                    return;
+                }
+                try {
+                    Thread.sleep(backoffMillis << (attempt - 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    writeStatus(event.getUserId(), failed(attempt, interrupted), false);
+                    return;
+                }
+            }
+        }
+    }
+
+    private Map<String, String> failed(int attempts, Exception e) {
+        Map<String, String> status = new HashMap<>();
+        status.put("state", "FAILED");
+        status.put("attempts", String.valueOf(attempts));
+        status.put("finishedAt", String.valueOf(System.currentTimeMillis()));
+        status.put("lastError", String.valueOf(e.getMessage()));
+        return status;
+    }
+
+    private void writeStatus(Long userId, Map<String, String> fields, boolean reset) {
+        String key = KEY_PREFIX + userId;
+        try {
+            if (reset) stringRedisTemplate.delete(key);
+            stringRedisTemplate.opsForHash().putAll(key, fields);
+            stringRedisTemplate.expire(key, STATUS_TTL);
+        } catch (RuntimeException e) {
+            // 상태 기록은 부가 기능이므로 실패해도 전파는 계속한다.
+            log.warn("작성자 정보 전파 상태 저장 실패 : userId {}", userId, e);
+        }
+    }
+
+    private Map<Object, Object> readStatus(Long userId) {
+        try {
+            return stringRedisTemplate.opsForHash().entries(KEY_PREFIX + userId);
+        } catch (RuntimeException e) {
+            log.warn("작성자 정보 전파 상태 조회 실패 : userId {}", userId, e);
+            return new HashMap<>();
+        }
+    }
+
+    private static LocalDateTime toDateTime(Object millis) {
+        if (millis == null) return null;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong((String) millis)), ZoneId.systemDefault());
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -7,13 +7,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 public interface InterviewBookmarkService {
 
-    public Long makeBookmark(User user, Long interviewId);
+    public void makeBookmark(User user, Long interviewId);
 
     public void delete(User user, Long interviewId);
 
+    public Map<Long, Boolean> getBookmarkFlags(User user, List<Long> interviewIds);
+
     public Page<InterviewQuestionDto> getInterviewBookmarks(User user, Pageable pageable);
 
     @Transactional
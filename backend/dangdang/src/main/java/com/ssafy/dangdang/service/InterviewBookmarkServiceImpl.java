@@ -1,41 +1,47 @@
 package com.ssafy.dangdang.service;
 
-import com.ssafy.dangdang.domain.InterviewBookmark;
 import com.ssafy.dangdang.domain.InterviewQuestion;
 import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.InterviewQuestionDto;
+import com.ssafy.dangdang.exception.BadRequestException;
 import com.ssafy.dangdang.domain.projection.InterviewBookmarkMapping;
-import com.ssafy.dangdang.repository.InterviewBookmarkRepository;
 import com.ssafy.dangdang.repository.InterviewQuestionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class InterviewBookmarkServiceImpl implements InterviewBookmarkService{
 
-    private final InterviewBookmarkRepository bookmarkRepository;
     private final InterviewQuestionRepository interviewQuestionRepository;
+    private final InterviewRecommendRanking recommendRanking;
+    private final InterviewBookmarkStore bookmarkStore;
 
+    // 북마크 추가/삭제는 Redis 집합에만 반영하고, MySQL과 북마크 수는 InterviewBookmarkWriteBack이 모아서 쓴다.
     @Override
-    public Long makeBookmark(User user, Long interviewId) {
-        Optional<InterviewQuestion> question = interviewQuestionRepository.findById(interviewId);
-        if(!question.isPresent()) throw new NullPointerException("존재하지 않는 질문 입니다.");
-        InterviewBookmark interviewBookmark = InterviewBookmark.of(user, question.get());
-        return bookmarkRepository.save(interviewBookmark).getId();
+    public void makeBookmark(User user, Long interviewId) {
+        if (!interviewQuestionRepository.existsById(interviewId)) throw new NullPointerException("존재하지 않는 질문 입니다.");
+        if (!bookmarkStore.add(user.getId(), interviewId)) throw new BadRequestException("이미 북마크한 질문 입니다.");
     }
 
     @Override
     public void delete(User user, Long interviewId) {
-        InterviewBookmark bookmark = bookmarkRepository.findInterviewBookmarkByUserIdAndInterviewQuestionId(user.getId(), interviewId);
-        bookmarkRepository.delete(bookmark);
+        if (!bookmarkStore.remove(user.getId(), interviewId)) throw new NullPointerException("존재하지 않는 북마크 입니다.");
+    }
+
+    @Override
+    public Map<Long, Boolean> getBookmarkFlags(User user, List<Long> interviewIds) {
+        return bookmarkStore.contains(user.getId(), interviewIds);
     }
 
     @Override
@@ -48,8 +54,25 @@ public class InterviewBookmarkServiceImpl implements InterviewBookmarkService{
     @Override
     @Transactional
     public Page<InterviewQuestionDto> getRecommends(Pageable pageable) {
-        Page<InterviewQuestion> bookmarks  = bookmarkRepository.findRecommends(pageable);
+        if (!recommendRanking.ready()) {
+            Page<InterviewQuestion> bookmarks  = interviewQuestionRepository.findRecommends(pageable);
+            return bookmarks.map(bookmark -> InterviewQuestionDto.of(bookmark));
+        }
+
+        // 순위와 개수는 메모리에서 구하고, 현재 페이지의 질문만 DB에서 읽는다.
+        long total = recommendRanking.total();
+        List<Long> pageIds = pageable.isPaged()
+                ? recommendRanking.page(pageable.getOffset(), pageable.getPageSize())
+                : recommendRanking.page(0, (int) total);
+        if (pageIds.isEmpty()) return new PageImpl<>(Collections.emptyList(), pageable, total);
 
-        return bookmarks.map(bookmark -> InterviewQuestionDto.of(bookmark));
+        Map<Long, InterviewQuestion> questions = interviewQuestionRepository.findAllWithWriterByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(InterviewQuestion::getId, Function.identity()));
+        List<InterviewQuestionDto> content = pageIds.stream()
+                .map(questions::get)
+                .filter(Objects::nonNull)
+                .map(InterviewQuestionDto::of)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, total);
     }
 }
@@ -0,0 +1,172 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.repository.InterviewBookmarkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 유저별 면접 질문 북마크 집합 (Redis)
+ * bookmark:user:{userId} SET에 북마크한 질문 id를 들고 있고, 북마크 추가/삭제는 Redis에만 반영한 뒤 바로 응답한다.
+ *  - 바뀐 북마크는 bookmark:pending HASH({userId}:{questionId} -> +/-)에 모아두고, InterviewBookmarkWriteBack이 주기적으로 MySQL에 한 번에 쓴다.
+ *    같은 북마크를 여러 번 누르면 마지막 상태만 남으므로 MySQL에는 한 번만 쓴다.
+ *  - 집합이 없으면(처음 조회하거나 TTL이 지난 경우) MySQL에서 읽어서 채운다. 빈 집합도 키가 남도록 LOADED 값을 함께 넣는다.
+ *  - 집합 확인, 변경, pending 기록은 Lua 스크립트 하나로 원자적으로 처리한다.
+ */
+@Slf4j
+@Component
+public class InterviewBookmarkStore {
+
+    static final String PENDING_KEY = "bookmark:pending";
+    static final String FLUSHING_KEY = "bookmark:flushing";
+    private static final String KEY_PREFIX = "bookmark:user:";
+    private static final String LOADED = "loaded";
+
+    // KEYS[1] = bookmark:user:{userId}, KEYS[2] = bookmark:pending, ARGV = [questionId, {userId}:{questionId}, +/-, ttlMillis]
+    // 집합이 없으면 -1, 이미 같은 상태면 0, 바뀌었으면 1
+    private static final RedisScript<Long> TOGGLE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local changed " +
+            "if ARGV[3] == '+' then changed = redis.call('SADD', KEYS[1], ARGV[1]) " +
+            "else changed = redis.call('SREM', KEYS[1], ARGV[1]) end " +
+            "if changed == 1 then redis.call('HSET', KEYS[2], ARGV[2], ARGV[3]) end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[4]) " +
+            "return changed", Long.class);
+
+    // KEYS[1] = bookmark:user:{userId}, ARGV = [ttlMillis, loaded, questionId...]
+    // 다른 요청이 먼저 채웠으면 덮어쓰지 않는다.
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "for i = 2, #ARGV, 5000 do redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 4999, #ARGV))) end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final InterviewBookmarkRepository bookmarkRepository;
+    private final long ttlMillis;
+
+    public InterviewBookmarkStore(StringRedisTemplate stringRedisTemplate,
+                                  InterviewBookmarkRepository bookmarkRepository,
+                                  @Value("${interview.bookmark.ttl-hours:168}") long ttlHours) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.bookmarkRepository = bookmarkRepository;
+        this.ttlMillis = Duration.ofHours(ttlHours).toMillis();
+    }
+
+    /**
+     * @return 새로 북마크했으면 true, 이미 북마크한 질문이면 false
+     */
+    public boolean add(Long userId, Long questionId) {
+        return toggle(userId, questionId, "+");
+    }
+
+    /**
+     * @return 북마크를 해제했으면 true, 북마크하지 않은 질문이면 false
+     */
+    public boolean remove(Long userId, Long questionId) {
+        return toggle(userId, questionId, "-");
+    }
+
+    /**
+     * 질문 id마다 북마크 여부를 한 번의 파이프라인(SISMEMBER)으로 조회한다.
+     */
+    public Map<Long, Boolean> contains(Long userId, Collection<Long> questionIds) {
+        Map<Long, Boolean> flags = new LinkedHashMap<>();
+        if (questionIds.isEmpty()) return flags;
+        ensureLoaded(userId);
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(questionIds));
+        String key = key(userId);
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long id : ids) stringConnection.sIsMember(key, String.valueOf(id));
+            return null;
+        });
+        for (int i = 0; i < ids.size(); i++) flags.put(ids.get(i), Boolean.TRUE.equals(results.get(i)));
+        return flags;
+    }
+
+    /**
+     * 삭제된 질문을 북마크한 유저들의 집합과 아직 쓰지 않은 변경에서 뺀다.
+     * userIds(MySQL에 쓰인 북마크)에 더해, 아직 MySQL에 쓰이지 않은 변경({userId}:{questionId})의 유저도 찾아서 뺀다.
+     */
+    public void forgetQuestion(Long questionId, Collection<Long> userIds) {
+        Set<Long> bookmarkedUserIds = new HashSet<>(userIds);
+        for (String hash : Arrays.asList(PENDING_KEY, FLUSHING_KEY)) {
+            ScanOptions options = ScanOptions.scanOptions().match("*:" + questionId).count(1000).build();
+            try (Cursor<Map.Entry<Object, Object>> cursor = stringRedisTemplate.opsForHash().scan(hash, options)) {
+                while (cursor.hasNext()) {
+                    String field = (String) cursor.next().getKey();
+                    bookmarkedUserIds.add(Long.valueOf(field.substring(0, field.indexOf(':'))));
+                }
+            }
+        }
+        if (bookmarkedUserIds.isEmpty()) return;
+
+        String member = String.valueOf(questionId);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long userId : bookmarkedUserIds) {
+                stringConnection.sRem(key(userId), member);
+                stringConnection.hDel(PENDING_KEY, field(userId, questionId));
+                // write-back이 쓰고 있는 변경도 지운다. 이미 읽어간 변경은 INSERT IGNORE가 외래키 오류 없이 건너뛴다.
+                stringConnection.hDel(FLUSHING_KEY, field(userId, questionId));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 탈퇴한 유저의 집합과 아직 쓰지 않은 변경을 지운다. 탈퇴 이후에 북마크가 다시 쓰이지 않도록 MySQL에서 지우기 전에 호출한다.
+     */
+    public void forgetUser(Long userId) {
+        stringRedisTemplate.delete(key(userId));
+        for (String hash : Arrays.asList(PENDING_KEY, FLUSHING_KEY)) {
+            List<Object> fields = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(userId + ":*").count(1000).build();
+            try (Cursor<Map.Entry<Object, Object>> cursor = stringRedisTemplate.opsForHash().scan(hash, options)) {
+                while (cursor.hasNext()) fields.add(cursor.next().getKey());
+            }
+            if (!fields.isEmpty()) stringRedisTemplate.opsForHash().delete(hash, fields.toArray());
+        }
+    }
+
+    private boolean toggle(Long userId, Long questionId, String op) {
+        List<String> keys = Arrays.asList(key(userId), PENDING_KEY);
+        Object[] args = {String.valueOf(questionId), field(userId, questionId), op, String.valueOf(ttlMillis)};
+        Long changed = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys, args);
+        if (changed != null && changed == -1L) {
+            ensureLoaded(userId);
+            changed = stringRedisTemplate.execute(TOGGLE_SCRIPT, keys, args);
+        }
+        return changed != null && changed == 1L;
+    }
+
+    private void ensureLoaded(Long userId) {
+        String key = key(userId);
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) return;
+        List<Long> questionIds = bookmarkRepository.findQuestionIdsByUserId(userId);
+        List<String> args = new ArrayList<>(questionIds.size() + 2);
+        args.add(String.valueOf(ttlMillis));
+        args.add(LOADED);
+        for (Long questionId : questionIds) args.add(String.valueOf(questionId));
+        stringRedisTemplate.execute(LOAD_SCRIPT, Collections.singletonList(key), args.toArray());
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String field(Long userId, Long questionId) {
+        return userId + ":" + questionId;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.domain.event.BookmarkCountsChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.*;
+
+import static com.ssafy.dangdang.service.InterviewBookmarkStore.FLUSHING_KEY;
+import static com.ssafy.dangdang.service.InterviewBookmarkStore.PENDING_KEY;
+
+/**
+ * Redis에 모아둔 북마크 변경(bookmark:pending)을 주기적으로 MySQL에 batch로 쓰는 작업
+ *  - 여러 노드 중 락을 잡은 한 노드만 실행한다.
+ *  - pending을 flushing으로 RENAME해서 가져오므로, 쓰는 동안 들어온 변경은 새 pending에 쌓인다.
+ *  - 쓰기에 실패하면 flushing이 남아있고, 다음 주기에 새 pending보다 먼저 다시 쓴다. (INSERT IGNORE/DELETE이므로 여러 번 써도 결과가 같다)
+ *  - 북마크 수는 바뀐 질문만 북마크 테이블에서 다시 센다.
+ */
+@Slf4j
+@Component
+public class InterviewBookmarkWriteBack {
+
+    private static final String LOCK_KEY = "bookmark:flush-lock";
+    private static final int CHUNK_SIZE = 500;
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0", Long.class);
+
+    private static final String INSERT_SQL = "insert ignore into interview_bookmark (user_id, interview_id) values (?, ?)";
+    private static final String DELETE_SQL = "delete from interview_bookmark where user_id = ? and interview_id = ?";
+    private static final String RECOUNT_SQL = "update interview_question q set q.bookmark_count = " +
+            "(select count(*) from interview_bookmark b where b.interview_id = q.id) where q.id in (:ids)";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Duration lockTimeout;
+
+    public InterviewBookmarkWriteBack(StringRedisTemplate stringRedisTemplate,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${interview.bookmark.flush-lock-millis:30000}") long lockMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.lockTimeout = Duration.ofMillis(lockMillis);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${interview.bookmark.flush-interval-millis:1000}")
+    public void flush() {
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, nodeId, lockTimeout))) return;
+        } catch (RuntimeException e) {
+            log.warn("북마크 write-back 락 획득 실패", e);
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(FLUSHING_KEY))) {
+                if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(PENDING_KEY))) return;
+                stringRedisTemplate.rename(PENDING_KEY, FLUSHING_KEY);
+            }
+            Map<Object, Object> changes = stringRedisTemplate.opsForHash().entries(FLUSHING_KEY);
+            Set<Long> questionIds = write(changes);
+            stringRedisTemplate.delete(FLUSHING_KEY);
+            if (!questionIds.isEmpty()) eventPublisher.publishEvent(new BookmarkCountsChangedEvent(new ArrayList<>(questionIds)));
+            log.debug("북마크 write-back : {}건, 질문 {}개", changes.size(), questionIds.size());
+        } catch (RuntimeException e) {
+            log.error("북마크 write-back 실패, 다음 주기에 다시 씁니다", e);
+        } finally {
+            try {
+                stringRedisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(LOCK_KEY), nodeId);
+            } catch (RuntimeException e) {
+                log.warn("북마크 write-back 락 해제 실패", e);
+            }
+        }
+    }
+
+    private Set<Long> write(Map<Object, Object> changes) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Set<Long> questionIds = new HashSet<>();
+        changes.forEach((field, op) -> {
+            String[] ids = ((String) field).split(":");
+            Long userId = Long.valueOf(ids[0]);
+            Long questionId = Long.valueOf(ids[1]);
+            if ("+".equals(op)) inserts.add(new Object[]{userId, questionId});
+            else deletes.add(new Object[]{userId, questionId});
+            questionIds.add(questionId);
+        });
+        if (questionIds.isEmpty()) return questionIds;
+
+        // 탈퇴한 유저나 삭제된 질문의 북마크는 외래키 오류 대신 INSERT IGNORE로 건너뛴다.
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < inserts.size(); from += CHUNK_SIZE)
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts.subList(from, Math.min(from + CHUNK_SIZE, inserts.size())));
+            for (int from = 0; from < deletes.size(); from += CHUNK_SIZE)
+                jdbcTemplate.batchUpdate(DELETE_SQL, deletes.subList(from, Math.min(from + CHUNK_SIZE, deletes.size())));
+            List<Long> ids = new ArrayList<>(questionIds);
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE)
+                namedJdbcTemplate.update(RECOUNT_SQL, new MapSqlParameterSource("ids", ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))));
+        });
+        return questionIds;
+    }
+}
@@ -3,6 +3,7 @@ package com.ssafy.dangdang.service;
 import com.ssafy.dangdang.domain.InterviewQuestion;
 import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.InterviewQuestionDto;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import com.ssafy.dangdang.domain.dto.WriteInterview;
 import com.ssafy.dangdang.util.ApiUtils;
 import org.springdoc.api.annotations.ParameterObject;
@@ -28,6 +29,8 @@ public interface InterviewQuestionService {
     @Transactional
     Page<InterviewQuestionDto> getAllVisableInterviewQustion(User writer, Pageable pageable);
 
+    CursorSlice<InterviewQuestionDto> scrollVisableInterviewQustion(User writer, String cursor, int size);
+
     @Transactional
     Page<InterviewQuestionDto> searchInterviewQuestion(User writer, WriteInterview searchParam, Pageable pageable);
 
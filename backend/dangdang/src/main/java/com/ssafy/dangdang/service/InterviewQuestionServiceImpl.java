@@ -1,15 +1,17 @@
 package com.ssafy.dangdang.service;
 
-import com.ssafy.dangdang.domain.InterviewBookmark;
 import com.ssafy.dangdang.domain.InterviewQuestion;
 import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.InterviewQuestionDto;
 import com.ssafy.dangdang.domain.dto.WriteInterview;
+import com.ssafy.dangdang.domain.event.InterviewQuestionChangedEvent;
 import com.ssafy.dangdang.exception.UnauthorizedAccessException;
 import com.ssafy.dangdang.repository.InterviewBookmarkRepository;
 import com.ssafy.dangdang.repository.InterviewQuestionRepository;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -28,24 +30,30 @@ public class InterviewQuestionServiceImpl implements InterviewQuestionService{
 
     private final InterviewQuestionRepository interviewQuestionRepository;
     private final InterviewBookmarkRepository bookmarkRepository;
+    private final InterviewBookmarkStore bookmarkStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public InterviewQuestionDto writeQuestion(User user, InterviewQuestionDto interviewQuestionDto) {
 
         InterviewQuestion interviewQuestion = InterviewQuestion.of(interviewQuestionDto, user);
         interviewQuestionRepository.save(interviewQuestion);
+        eventPublisher.publishEvent(InterviewQuestionChangedEvent.ofQuestion(interviewQuestion.getId()));
         return InterviewQuestionDto.of(interviewQuestion);
     }
 
     @Override
+    @Transactional
     public ApiResult<String> deleteQuestion(User user, Long interviewQuestionId) {
         Optional<InterviewQuestion> question = interviewQuestionRepository.findById(interviewQuestionId);
 
         if (!question.isPresent()) throw new NullPointerException("존재하지 않는 질문 입니다.");
-        if (question.get().getWriter().getId() != user.getId()) new UnauthorizedAccessException("작성자만이 삭제할 수 있습니다.");
-        List<InterviewBookmark> bookmarks = bookmarkRepository.findInterviewBookmarksByInterviewQuestionId(interviewQuestionId);
-        for (InterviewBookmark bookmark : bookmarks ) bookmarkRepository.delete(bookmark);
+        if (!question.get().getWriter().getId().equals(user.getId())) throw new UnauthorizedAccessException("작성자만이 삭제할 수 있습니다.");
+        List<Long> bookmarkedUserIds = bookmarkRepository.findUserIdsByInterviewId(interviewQuestionId);
+        bookmarkRepository.deleteAllByInterviewId(interviewQuestionId);
         interviewQuestionRepository.delete(question.get());
+        bookmarkStore.forgetQuestion(interviewQuestionId, bookmarkedUserIds);
+        eventPublisher.publishEvent(InterviewQuestionChangedEvent.ofQuestion(interviewQuestionId));
         return success("삭제 성공");
     }
 
@@ -70,6 +78,12 @@ public class InterviewQuestionServiceImpl implements InterviewQuestionService{
         return interviewQuestionDtos;
     }
 
+    @Override
+    @Transactional
+    public CursorSlice<InterviewQuestionDto> scrollVisableInterviewQustion(User writer, String cursor, int size){
+        return interviewQuestionRepository.scrollVisableInterviewQuestion(writer, cursor, size).mapContent(InterviewQuestionDto::of);
+    }
+
     @Override
     @Transactional
     public Page<InterviewQuestionDto> searchInterviewQuestion(User writer, WriteInterview searchParam, Pageable pageable){
@@ -92,6 +106,7 @@ public class InterviewQuestionServiceImpl implements InterviewQuestionService{
         Optional<InterviewQuestion> interview = interviewQuestionRepository.findById(interviewId);
         if (!interview.isPresent()) throw new NullPointerException("존재하지 않는 질문 입니다.");
         interview.get().makePubic();
+        eventPublisher.publishEvent(InterviewQuestionChangedEvent.ofQuestion(interviewId));
     }
 
     @Override
@@ -100,6 +115,7 @@ public class InterviewQuestionServiceImpl implements InterviewQuestionService{
         Optional<InterviewQuestion> interview = interviewQuestionRepository.findById(interviewId);
         if (!interview.isPresent()) throw new NullPointerException("존재하지 않는 질문 입니다.");
         interview.get().hide();
+        eventPublisher.publishEvent(InterviewQuestionChangedEvent.ofQuestion(interviewId));
     }
 
     @Override
@@ -0,0 +1,242 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.domain.event.BookmarkCountsChangedEvent;
+import com.ssafy.dangdang.domain.event.InterviewQuestionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * /interview/recommend 용 북마크 수 순위
+ * 북마크가 하나 이상인 질문의 (북마크 수, id)를 정렬된 상태로 들고 있어서, 추천 목록과 전체 개수를 집계 쿼리 없이 구한다.
+ *  - 북마크 변경이 MySQL에 쓰이면 바뀐 질문들의 북마크 수를 한 번에 다시 읽고, 다른 노드에는 Redis pub/sub으로 전달한다.
+ *  - 질문이 삭제되거나 회원이 탈퇴해도 DB에서 북마크 수를 다시 읽는다.
+ *  - 주기적으로 bookmark_count를 북마크 테이블과 맞춘 뒤 순위를 다시 만든다.
+ *  - 준비되기 전에는 ready()가 false가 되고, 호출하는 쪽은 bookmark_count 정렬 쿼리로 조회한다.
+ */
+@Slf4j
+@Component
+public class InterviewRecommendRanking {
+
+    private static final String CHANNEL = "interview:recommend:changed";
+
+    private static final String RECONCILE_SQL = "update interview_question q left join " +
+            "(select b.interview_id, count(*) cnt from interview_bookmark b group by b.interview_id) c " +
+            "on c.interview_id = q.id " +
+            "set q.bookmark_count = coalesce(c.cnt, 0) " +
+            "where q.bookmark_count <> coalesce(c.cnt, 0)";
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry entry) -> entry.count).reversed()
+            .thenComparing(Comparator.comparingLong((Entry entry) -> entry.id).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    // 자기가 보낸 메시지는 이미 반영했으므로 구독에서 건너뛴다. (증감값을 두 번 더하지 않도록)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Entry> entries = new HashMap<>();
+    private TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+    private volatile boolean ready = false;
+    // 다시 만드는 도중에 바뀐 질문은 교체 이후에 DB에서 다시 읽는다.
+    private volatile boolean rebuilding = false;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public InterviewRecommendRanking(JdbcTemplate jdbcTemplate,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     RedisMessageListenerContainer listenerContainer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(
+                (Message message, byte[] pattern) -> receive(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+    }
+
+    public boolean ready() {
+        return ready;
+    }
+
+    // 북마크가 하나 이상인 질문 수
+    public int total() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 북마크 수 내림차순(같으면 최신순)으로 offset부터 limit개의 질문 id
+    public List<Long> page(long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranking.size()));
+            long skipped = 0;
+            for (Entry entry : ranking) {
+                if (ids.size() >= limit) break;
+                if (skipped++ >= offset) ids.add(entry.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookmarkCountsChanged(BookmarkCountsChangedEvent event) {
+        if (event.getQuestionIds().isEmpty()) return;
+        StringJoiner ids = new StringJoiner(",");
+        event.getQuestionIds().forEach(id -> ids.add(String.valueOf(id)));
+        publish("b:" + ids);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(InterviewQuestionChangedEvent event) {
+        publish(event.getQuestionId() != null ? "q:" + event.getQuestionId() : "w:" + event.getWriterId());
+    }
+
+    /**
+     * 북마크 수를 북마크 테이블과 맞추고 순위를 다시 만든다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${interview.recommend.reconcile-interval-millis:600000}",
+            initialDelayString = "${interview.recommend.reconcile-interval-millis:600000}")
+    public void reconcile() {
+        try {
+            int fixed = jdbcTemplate.update(RECONCILE_SQL);
+            if (fixed > 0) log.info("면접 질문 북마크 수 보정 : {}건", fixed);
+        } catch (RuntimeException e) {
+            log.error("면접 질문 북마크 수 보정 실패", e);
+        }
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            Map<Long, Entry> nextEntries = new HashMap<>();
+            TreeSet<Entry> nextRanking = new TreeSet<>(ORDER);
+            jdbcTemplate.query("select id, bookmark_count from interview_question where bookmark_count > 0", rs -> {
+                Entry entry = new Entry(rs.getLong(1), rs.getLong(2));
+                nextEntries.put(entry.id, entry);
+                nextRanking.add(entry);
+            });
+
+            lock.writeLock().lock();
+            try {
+                entries = nextEntries;
+                ranking = nextRanking;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.debug("면접 질문 추천 순위 생성 : {}개", nextEntries.size());
+        } catch (RuntimeException e) {
+            log.error("면접 질문 추천 순위 생성 실패", e);
+        } finally {
+            rebuilding = false;
+        }
+        List<Long> changed = new ArrayList<>(changedDuringRebuild);
+        changedDuringRebuild.clear();
+        if (!changed.isEmpty()) reload(changed);
+    }
+
+    private void publish(String message) {
+        handle(message);
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId + "|" + message);
+        } catch (RuntimeException e) {
+            log.warn("면접 질문 추천 순위 변경 전파 실패 : {}", message, e);
+        }
+    }
+
+    // {노드 id}|{메시지}
+    private void receive(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) return;
+        handle(payload.substring(separator + 1));
+    }
+
+    // b:{질문 id,...}, q:{질문 id}, w:{작성자 id}
+    private void handle(String message) {
+        String[] parts = message.split(":");
+        if (parts.length < 2) return;
+        switch (parts[0]) {
+            case "b":
+                List<Long> ids = new ArrayList<>();
+                for (String id : parts[1].split(",")) ids.add(Long.valueOf(id));
+                reload(ids);
+                break;
+            case "q":
+                reload(Collections.singletonList(Long.valueOf(parts[1])));
+                break;
+            case "w":
+                rebuild();
+                break;
+            default:
+        }
+    }
+
+    // 질문들의 북마크 수를 DB에서 다시 읽는다. 없는 질문(삭제된 질문)은 순위에서 뺀다.
+    private void reload(List<Long> questionIds) {
+        if (rebuilding) changedDuringRebuild.addAll(questionIds);
+        Map<Long, Long> counts = new HashMap<>();
+        namedJdbcTemplate.query("select id, bookmark_count from interview_question where id in (:ids)",
+                new MapSqlParameterSource("ids", questionIds),
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getLong(2));
+                });
+        lock.writeLock().lock();
+        try {
+            for (Long questionId : questionIds) put(questionId, counts.getOrDefault(questionId, 0L));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // write lock 안에서 호출한다.
+    private void put(Long questionId, long count) {
+        Entry old = entries.remove(questionId);
+        if (old != null) ranking.remove(old);
+        if (count <= 0) return;
+        Entry entry = new Entry(questionId, count);
+        entries.put(questionId, entry);
+        ranking.add(entry);
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final long count;
+
+        private Entry(long id, long count) {
+            this.id = id;
+            this.count = count;
+        }
+    }
+}
@@ -30,6 +30,7 @@ public class JoinsServiceImpl implements JoinsService {
     private final UserRepository userRepository;
     private final StudyRepository studyRepository;
     private final JoinsRepository joinsRepository;
+    private final StudyDtoAssembler studyDtoAssembler;
 
     @Override
     public Boolean getJoin(User user, Long studyId){
@@ -41,9 +42,10 @@ public class JoinsServiceImpl implements JoinsService {
     }
 
     @Override
+    @Transactional
     public Long joinStudy(User user, Long studyId) {
 
-        Optional<Joins> join = joinsRepository.findJoinsByUserIdAndStudyId(user.getId(), studyId);
+        Optional<Joins> join = joinsRepository.findJoinsForUpdate(user.getId(), studyId);
         if(join.isPresent() && join.get().getWaiting())  {
             log.info("가입 신청 취소");
             joinsRepository.delete(join.get());
@@ -63,16 +65,17 @@ public class JoinsServiceImpl implements JoinsService {
     @Override
     @Transactional
     public Long acceptUser(User host, Long userId, Long studyId){
-        Joins join = joinsRepository.findJoinsByUserIdAndStudyId(userId, studyId).get();
-        Optional<Study> study = studyRepository.findById(studyId);
-        if(!study.isPresent()) throw new NullPointerException("존재하지 않는 스터디 입니다.");
-        if (study.get().getHost().getId() != host.getId()) throw new UnauthorizedAccessException("스터디장만이 유저를 가입시킬 수 있습니다.");
+        Study study = studyRepository.findStudyById(studyId);
+        if(study == null) throw new NullPointerException("존재하지 않는 스터디 입니다.");
+        if (!study.getHost().getId().equals(host.getId())) throw new UnauthorizedAccessException("스터디장만이 유저를 가입시킬 수 있습니다.");
 
-        List<Joins> joins = study.get().getJoins();
-        // 가입 완료된 유저만 조회
-        List<User> users = joins.stream().filter(j -> !j.getWaiting())
-                .map(j -> j.getUser()).collect(Collectors.toList());
-        if (users.size() >= study.get().getNumber()) throw new ExceedFixedNumber("이미 정원이 다 찬 스터디입니다.") ;
+        Joins join = joinsRepository.findJoinsForUpdate(userId, studyId)
+                .orElseThrow(() -> new NullPointerException("가입 신청하지 않은 유저입니다."));
+        // 이미 가입 완료된 유저는 자리를 다시 차지하지 않는다.
+        if (!join.getWaiting()) return join.getId();
+
+        // 정원 확인과 회원 수 증가를 한 번의 조건부 UPDATE로 처리하므로 동시에 수락해도 정원을 넘지 않는다.
+        if (studyRepository.reserveSeat(studyId) == 0) throw new ExceedFixedNumber("이미 정원이 다 찬 스터디입니다.") ;
 
         join.acceptUser();
         return join.getId();
@@ -91,21 +94,29 @@ public class JoinsServiceImpl implements JoinsService {
     }
 
     @Override
+    @Transactional
     public void outStudy(User user, Long studyId) {
-        Study study = studyRepository.findById(studyId).get();
+        Study study = studyRepository.findById(studyId).orElseThrow(() -> new NullPointerException("존재하지 않는 스터디 입니다."));
         if (study.getHost().getId().equals(user.getId())) throw new BadRequestException("스터디장은 스터디를 탈퇴할 수 없습니다.");
-        
-        Joins enter = joinsRepository.findJoinsByUserIdAndStudyId(user.getId(), studyId).get();
-        joinsRepository.delete(enter);
+
+        leave(user.getId(), studyId);
     }
 
     @Override
+    @Transactional
     public void outStudy(User user, Long userId, Long studyId) {
-        Study study = studyRepository.findById(studyId).get();
+        Study study = studyRepository.findById(studyId).orElseThrow(() -> new NullPointerException("존재하지 않는 스터디 입니다."));
         if (!study.getHost().getId().equals(user.getId())) throw new UnauthorizedAccessException("스터디장만이 유저를 내보낼 수 있습니다.");
-        
-        Joins enter = joinsRepository.findJoinsByUserIdAndStudyId(userId, studyId).get();
+
+        leave(userId, studyId);
+    }
+
+    private void leave(Long userId, Long studyId) {
+        Joins enter = joinsRepository.findJoinsForUpdate(userId, studyId)
+                .orElseThrow(() -> new NullPointerException("가입하지 않은 스터디입니다."));
         joinsRepository.delete(enter);
+        // 가입 대기 중이던 신청은 자리를 차지하지 않았으므로 회원 수를 줄이지 않는다.
+        if (!enter.getWaiting()) studyRepository.releaseSeat(studyId);
     }
 
     @Override
@@ -113,13 +124,13 @@ public class JoinsServiceImpl implements JoinsService {
     public List<StudyDto> getStudies(User user, List<String> hasgTags){
         List<Study> studies = studyRepository.getStudiesJoined(user, hasgTags);
 
-        return studies.stream().map(StudyDto::of).collect(Collectors.toList());
+        return studyDtoAssembler.toDtos(studies);
     }
 
    @Override
    @Transactional
     public Page<StudyDto> getStudiesJoinedWithPage(User user,List<String> hasgTags, Pageable pageable){
        Page<Study> studies = studyRepository.getStudiesJoinedWithPage(user, hasgTags, pageable);
-       return studies.map(StudyDto::of) ;
+       return studyDtoAssembler.toDtos(studies);
     }
 }
@@ -3,6 +3,7 @@ package com.ssafy.dangdang.service;
 import com.ssafy.dangdang.domain.Post;
 import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.PostDto;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import com.ssafy.dangdang.util.ApiUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +20,8 @@ public interface PostService {
 
     Page<PostDto> getAllPost(Long studyId, Pageable pageable);
 
+    CursorSlice<PostDto> scrollPost(Long studyId, String cursor, int size);
+
     Optional<Post> findById(Long postId);
 
     PostDto findPostDtoById(Long postId);
@@ -1,6 +1,5 @@
 package com.ssafy.dangdang.service;
 
-import com.ssafy.dangdang.domain.Comment;
 import com.ssafy.dangdang.domain.Post;
 import com.ssafy.dangdang.domain.Study;
 import com.ssafy.dangdang.domain.User;
@@ -11,6 +10,7 @@ import com.ssafy.dangdang.exception.UnauthorizedAccessException;
 import com.ssafy.dangdang.repository.CommentRepository;
 import com.ssafy.dangdang.repository.PostRepository;
 import com.ssafy.dangdang.repository.StudyRepository;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -74,8 +75,7 @@ public class PostServiceImpl implements PostService{
 
         if (!post.isPresent()) throw new NullPointerException("존재하지 않는 게시글 입니다.");
         if (post.get().getWriter().getId() != user.getId()) throw new UnauthorizedAccessException("작성자만이 삭제할 수 있습니다.");
-        List<Comment> comments = commentRepository.findAllByReferenceIdAndDepthAndCommentType(postId, 0, CommentType.POST);
-        comments.forEach(commentRepository::recurDelete);
+        commentRepository.deleteAllByReference(CommentType.POST, Collections.singletonList(postId));
 
         postRepository.delete(post.get());
         return success("삭제 성공");
@@ -91,6 +91,12 @@ public class PostServiceImpl implements PostService{
         return postDtos;
     }
 
+    @Override
+    @Transactional
+    public CursorSlice<PostDto> scrollPost(Long studyId, String cursor, int size){
+        return postRepository.scrollPostByStudyId(studyId, cursor, size).mapContent(PostDto::of);
+    }
+
     @Override
     public Optional<Post> findById(Long postId){
         return postRepository.findById(postId);
@@ -99,6 +105,9 @@ public class PostServiceImpl implements PostService{
     @Override
     @Transactional
     public PostDto findPostDtoById(Long postId){
-        return PostDto.of(postRepository.findPostWithUser(postId));
+        Post post = postRepository.findPostWithUser(postId);
+        // 없는 게시글이거나 삭제 표시된 스터디의 게시글
+        if (post == null) throw new NullPointerException("존재하지 않는 게시글 입니다.");
+        return PostDto.of(post);
     }
 }
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -90,8 +91,7 @@ public class ResumeServiceImpl implements ResumeService{
         if(!resume.isPresent()) throw new NullPointerException("존재하지 않는 자소서 입니다.");
         if (resume.get().getUser().getId() != user.getId())
             throw new UnauthorizedAccessException("자신의 자소서만 삭제할 수 있습니다.");
-        List<Comment> comments = commentRepository.findAllByReferenceIdAndDepthAndCommentType(resumeId, 0, CommentType.RESUME);
-        comments.forEach(commentRepository::recurDelete);
+        commentRepository.deleteAllByReference(CommentType.RESUME, Collections.singletonList(resumeId));
 
         resumeRepository.delete(resume.get());
         return ApiUtils.success("삭제 성공");
@@ -0,0 +1,134 @@
+package com.ssafy.dangdang.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스터디 마지막 진행 시간(lastAccessTime)과 누적 진행 시간(totalTime, 분)의 write-behind 버퍼
+ * 상세 조회, 화상 스터디 입장처럼 자주 일어나는 기록은 메모리에서 스터디별로 합치고,
+ * 주기적으로(그리고 종료 시) 스터디당 UPDATE 한 건씩 batch로 반영한다.
+ *  - 같은 스터디에 대한 기록과 꺼내기는 ConcurrentHashMap.compute/remove로 원자적으로 처리되므로 유실되지 않는다.
+ *  - 1분이 안 되는 진행 시간은 다음 반영까지 남겨둔다.
+ *  - 반영에 실패하면 다시 버퍼에 합쳐서 다음 주기에 반영한다.
+ */
+@Slf4j
+@Component
+public class StudyActivityBuffer {
+
+    private static final String UPDATE_SQL =
+            "update study set " +
+            "last_access_time = case when last_access_time is null or last_access_time < ? then ? else last_access_time end, " +
+            "total_time = coalesce(total_time, 0) + ? " +
+            "where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<Long, Activity> pending = new ConcurrentHashMap<>();
+
+    public StudyActivityBuffer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 스터디에 접근한 시각을 기록한다.
+     */
+    public void recordAccess(Long studyId) {
+        if (studyId == null) return;
+        long now = System.currentTimeMillis();
+        pending.compute(studyId, (id, activity) -> {
+            if (activity == null) activity = new Activity();
+            activity.lastAccessMillis = Math.max(activity.lastAccessMillis, now);
+            return activity;
+        });
+    }
+
+    /**
+     * 스터디를 진행한 시간을 누적한다.
+     */
+    public void recordStudyTime(Long studyId, long elapsedMillis) {
+        if (studyId == null || elapsedMillis <= 0) return;
+        long now = System.currentTimeMillis();
+        pending.compute(studyId, (id, activity) -> {
+            if (activity == null) activity = new Activity();
+            activity.lastAccessMillis = Math.max(activity.lastAccessMillis, now);
+            activity.elapsedMillis += elapsedMillis;
+            return activity;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${study.activity.flush-interval-millis:10000}",
+            initialDelayString = "${study.activity.flush-interval-millis:10000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Long> studyIds = new ArrayList<>();
+        List<Activity> activities = new ArrayList<>();
+        List<Object[]> params = new ArrayList<>();
+        for (Long studyId : new ArrayList<>(pending.keySet())) {
+            Activity activity = pending.remove(studyId);
+            if (activity == null) continue;
+            long minutes = TimeUnit.MILLISECONDS.toMinutes(activity.elapsedMillis);
+            long remainder = activity.elapsedMillis - TimeUnit.MINUTES.toMillis(minutes);
+            // 1분 미만의 진행 시간은 다시 모아두고, 반영할 값이 없으면 UPDATE하지 않는다.
+            if (remainder > 0) recordRemainder(studyId, remainder);
+            if (minutes == 0 && activity.lastAccessMillis == 0) continue;
+            Timestamp lastAccess = activity.lastAccessMillis == 0 ? null : new Timestamp(activity.lastAccessMillis);
+
+            studyIds.add(studyId);
+            activities.add(activity.minus(remainder));
+            params.add(new Object[]{lastAccess, lastAccess, minutes, studyId});
+        }
+        if (params.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, params);
+            log.debug("스터디 활동 기록 반영 : {}건", params.size());
+        } catch (RuntimeException e) {
+            log.warn("스터디 활동 기록 반영 실패, 다음 주기에 다시 시도합니다 : {}건", params.size(), e);
+            for (int i = 0; i < studyIds.size(); i++) merge(studyIds.get(i), activities.get(i));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void recordRemainder(Long studyId, long remainder) {
+        pending.compute(studyId, (id, activity) -> {
+            if (activity == null) activity = new Activity();
+            activity.elapsedMillis += remainder;
+            return activity;
+        });
+    }
+
+    private void merge(Long studyId, Activity failed) {
+        pending.compute(studyId, (id, activity) -> {
+            if (activity == null) return failed;
+            activity.lastAccessMillis = Math.max(activity.lastAccessMillis, failed.lastAccessMillis);
+            activity.elapsedMillis += failed.elapsedMillis;
+            return activity;
+        });
+    }
+
+    // compute 안에서만 수정하므로 별도의 동기화가 필요 없다.
+    private static class Activity {
+        private long lastAccessMillis;
+        private long elapsedMillis;
+
+        private Activity minus(long millis) {
+            Activity activity = new Activity();
+            activity.lastAccessMillis = lastAccessMillis;
+            activity.elapsedMillis = elapsedMillis - millis;
+            return activity;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.domain.Joins;
+import com.ssafy.dangdang.domain.Study;
+import com.ssafy.dangdang.domain.dto.StudyDto;
+import com.ssafy.dangdang.domain.dto.UserDto;
+import com.ssafy.dangdang.repository.JoinsRepository;
+import com.ssafy.dangdang.repository.StudyHashTagRepository;
+import com.ssafy.dangdang.repository.support.CursorSlice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 스터디 목록을 StudyDto 목록으로 바꾼다.
+ * StudyDto.of(Study)는 스터디마다 joins -> user, hashTags를 지연로딩하므로, 목록에서는 페이지에 포함된 스터디 id로
+ * 가입 회원(+유저)과 해쉬태그를 각각 한 번씩만 조회해서 메모리에서 조립한다. (페이지 크기와 관계없이 쿼리 2번)
+ * 스터디장(host)은 목록 조회 쿼리에서 fetch join 되어 있어야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudyDtoAssembler {
+
+    private final JoinsRepository joinsRepository;
+    private final StudyHashTagRepository hashTagRepository;
+
+    public List<StudyDto> toDtos(List<Study> studies) {
+        if (studies.isEmpty()) return new ArrayList<>();
+        List<Long> studyIds = studies.stream().map(Study::getId).collect(Collectors.toList());
+
+        Map<Long, List<UserDto>> usersByStudy = new HashMap<>();
+        for (Joins join : joinsRepository.findAcceptedJoinsWithUserByStudyIds(studyIds)) {
+            usersByStudy.computeIfAbsent(join.getStudy().getId(), id -> new ArrayList<>())
+                    .add(UserDto.of(join.getUser()));
+        }
+
+        Map<Long, List<String>> hashTagsByStudy = new HashMap<>();
+        for (Object[] row : hashTagRepository.findHashTagsByStudyIds(studyIds)) {
+            hashTagsByStudy.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add((String) row[1]);
+        }
+
+        return studies.stream()
+                .map(study -> StudyDto.of(study,
+                        usersByStudy.getOrDefault(study.getId(), new ArrayList<>()),
+                        hashTagsByStudy.getOrDefault(study.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    public Page<StudyDto> toDtos(Page<Study> studies) {
+        return new PageImpl<>(toDtos(studies.getContent()), studies.getPageable(), studies.getTotalElements());
+    }
+
+    public CursorSlice<StudyDto> toDtos(CursorSlice<Study> studies) {
+        return new CursorSlice<>(toDtos(studies.getContent()), studies.getPageable(), studies.hasNext(), studies.getNextCursor());
+    }
+}
@@ -0,0 +1,27 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.repository.StudyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * member_count가 비어있는 스터디(컬럼 추가 이전에 만들어진 스터디)의 회원 수를 가입 목록으로 채운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudyMemberCountInitializer {
+
+    private final StudyRepository studyRepository;
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = studyRepository.backfillMemberCount();
+        if (updated > 0) log.info("스터디 회원 수 채움 : {}건", updated);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.domain.types.CommentType;
+import com.ssafy.dangdang.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 삭제 표시된 스터디의 연관 데이터를 백그라운드에서 지우는 작업
+ * 스터디 삭제 요청은 deleted 표시만 하고 바로 끝나며, 이 작업이 게시글/자소서/댓글/해쉬태그를 chunkSize 단위로 나눠서 지운다.
+ *  - 매 단계는 "스터디 id로 남아있는 행을 지운다"이므로 중간에 서버가 죽어도 다음 주기에 처음부터 다시 실행하면 이어서 지워진다.
+ *  - 게시글/자소서는 댓글(Mongo)을 먼저 지운 뒤 행을 지워서, 댓글이 참조를 잃고 남지 않도록 한다.
+ *  - 회원 탈퇴 트랜잭션 안에서 정리할 때는 댓글을 바로 지우지 않고 모아서 돌려주며, 커밋 이후에 지운다.
+ *  - 연관 데이터가 모두 지워진 뒤에 스터디 행을 지운다.
+ * @Where로 숨겨진 스터디를 찾아야 하므로 JPA 대신 JDBC로 조회한다.
+ */
+@Slf4j
+@Component
+public class StudyPurgeJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final CommentRepository commentRepository;
+    private final int chunkSize;
+
+    public StudyPurgeJob(JdbcTemplate jdbcTemplate,
+                         CommentRepository commentRepository,
+                         @Value("${study.purge.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.commentRepository = commentRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${study.purge.interval-millis:60000}",
+            initialDelayString = "${study.purge.interval-millis:60000}")
+    public void purge() {
+        List<Long> studyIds = jdbcTemplate.queryForList(
+                "select id from study where deleted = true order by id limit ?", Long.class, chunkSize);
+        for (Long studyId : studyIds) {
+            try {
+                purge(studyId);
+            } catch (RuntimeException e) {
+                // 다음 주기에 남은 것부터 다시 지운다.
+                log.warn("삭제된 스터디 정리 실패 : {}", studyId, e);
+            }
+        }
+    }
+
+    public void purge(Long studyId) {
+        purge(studyId, commentRepository::deleteAllByReference);
+    }
+
+    // deleteComments : 행을 지우기 전에 (댓글 종류, 게시글/자소서/스터디 id들)의 댓글을 지운다.
+    private void purge(Long studyId, BiConsumer<CommentType, List<Long>> deleteComments) {
+        deleteComments.accept(CommentType.STUDY, Collections.singletonList(studyId));
+
+        long posts = 0;
+        List<Long> postIds;
+        while (!(postIds = findIds("post", studyId)).isEmpty()) {
+            deleteComments.accept(CommentType.POST, postIds);
+            deleteByIds("delete from post where id in (:ids)", postIds);
+            posts += postIds.size();
+        }
+
+        long resumes = 0;
+        List<Long> resumeIds;
+        while (!(resumeIds = findIds("resume", studyId)).isEmpty()) {
+            deleteComments.accept(CommentType.RESUME, resumeIds);
+            deleteByIds("delete from resume_question where resume_id in (:ids)", resumeIds);
+            deleteByIds("delete from resume where id in (:ids)", resumeIds);
+            resumes += resumeIds.size();
+        }
+
+        deleteInChunks("delete from study_hash_tag where study_id = ? limit ?", studyId);
+        deleteInChunks("delete from joins where study_id = ? limit ?", studyId);
+        jdbcTemplate.update("delete from study where id = ? and deleted = true", studyId);
+        log.info("삭제된 스터디 정리 완료 : {} (게시글 {}개, 자소서 {}개)", studyId, posts, resumes);
+    }
+
+    /**
+     * 삭제 표시된 스터디 중 회원이 스터디장인 스터디의 MySQL 행을 바로 정리한다. (회원 탈퇴 트랜잭션 안에서 호출)
+     * 댓글은 트랜잭션이 롤백될 수 있으므로 지우지 않고, 지워야 할 댓글의 종류별 참조 id를 반환한다.
+     */
+    public Map<CommentType, List<Long>> purgeHostedBy(Long hostId) {
+        Map<CommentType, List<Long>> references = new EnumMap<>(CommentType.class);
+        jdbcTemplate.queryForList("select id from study where host_id = ? and deleted = true", Long.class, hostId)
+                .forEach(studyId -> purge(studyId,
+                        (commentType, ids) -> references.computeIfAbsent(commentType, key -> new ArrayList<>()).addAll(ids)));
+        return references;
+    }
+
+    private List<Long> findIds(String table, Long studyId) {
+        return jdbcTemplate.queryForList(
+                "select id from " + table + " where study_id = ? order by id limit ?", Long.class, studyId, chunkSize);
+    }
+
+    private void deleteByIds(String sql, List<Long> ids) {
+        namedJdbcTemplate.update(sql, new MapSqlParameterSource("ids", ids));
+    }
+
+    private void deleteInChunks(String sql, Long studyId) {
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, studyId, chunkSize);
+        } while (deleted >= chunkSize);
+    }
+}
@@ -3,6 +3,7 @@ package com.ssafy.dangdang.service;
 import com.ssafy.dangdang.domain.Study;
 import com.ssafy.dangdang.domain.User;
 import com.ssafy.dangdang.domain.dto.StudyDto;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import com.ssafy.dangdang.util.ApiUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,7 +22,9 @@ public interface StudyService {
     public ApiUtils.ApiResult<String> deleteStudy(User user, Long studyId);
 
     @Transactional
-    Page<StudyDto> getAllStudies(List<String> hashTags, Pageable pageable);
+    Page<StudyDto> getAllStudies(List<String> hashTags, boolean matchAll, Pageable pageable);
+
+    CursorSlice<StudyDto> scrollStudies(List<String> hashTags, boolean matchAll, String sort, String cursor, int size);
 
     Study findStudyById(Long studyId);
 
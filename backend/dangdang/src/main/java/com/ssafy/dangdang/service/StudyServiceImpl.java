@@ -2,20 +2,21 @@ package com.ssafy.dangdang.service;
 
 import com.ssafy.dangdang.domain.*;
 import com.ssafy.dangdang.domain.dto.StudyDto;
-import com.ssafy.dangdang.domain.types.CommentType;
+import com.ssafy.dangdang.domain.event.StudyChangedEvent;
+import com.ssafy.dangdang.exception.BadRequestException;
 import com.ssafy.dangdang.exception.UnauthorizedAccessException;
 import com.ssafy.dangdang.repository.*;
+import com.ssafy.dangdang.repository.support.CursorSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 import static com.ssafy.dangdang.util.ApiUtils.*;
 
@@ -30,8 +31,9 @@ public class StudyServiceImpl implements StudyService{
     private final StudyHashTagRepository hashTagRepository;
     private final UserRepository userRepository;
     private final JoinsRepository joinsRepository;
-    private final CommentRepository commentRepository;
-    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudyDtoAssembler studyDtoAssembler;
+    private final StudyActivityBuffer studyActivityBuffer;
 
     @Override
     @Transactional
@@ -54,6 +56,7 @@ public class StudyServiceImpl implements StudyService{
                 .waiting(false)
                 .build();
         joinsRepository.save(enter);
+        eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
 
         StudyDto createdStudyDto = StudyDto.of(study);
         return createdStudyDto;
@@ -68,29 +71,37 @@ public class StudyServiceImpl implements StudyService{
 
         if(count ==0) throw new UnauthorizedAccessException("권한이 없는 사용자의 요청입니다.");
 
-        List<StudyHashTag> oldHashTags = findStudy.get().getHashTags();
-        hashTagRepository.deleteAll(oldHashTags);
-        Study study = Study.builder()
-                .id(studyDto.getId())
-                .name(studyDto.getName())
-                .number(studyDto.getNumber())
-                .goal(studyDto.getGoal())
-                .openKakao(studyDto.getOpenKakao())
-                .description(studyDto.getDescription())
-                .imageUrl(findStudy.get().getImageUrl())
-                .createdAt(findStudy.get().getCreatedAt())
-                .host(findStudy.get().getHost())
-                .lastAccessTime(LocalDateTime.now())
-                .build();
-        studyRepository.save(study);
-        if (studyDto.getHashTags() !=null && !studyDto.getHashTags().isEmpty()){
-            List<StudyHashTag> hashTags = studyDto.getHashTags()
-                    .stream()
-                    .map(s->StudyHashTag.builder().study(findStudy.get()).hashTag(s).build())
-                    .collect(Collectors.toList());
-            hashTagRepository.saveAll(hashTags);
-            study.addHashTags(hashTags);
-        }
+        Study study = findStudy.get();
+        if (studyDto.getNumber() != null && study.getMemberCount() != null && studyDto.getNumber() < study.getMemberCount())
+            throw new BadRequestException("스터디 최대 인원은 현재 가입한 회원 수보다 작을 수 없습니다.");
+
+        // 조회한 엔티티를 직접 수정해야 회원 수, 누적 시간처럼 요청에 없는 값이 유지된다.
+        study.update(studyDto);
+        // 마지막 진행 시간은 엔티티가 아니라 버퍼를 통해 갱신한다.
+        studyActivityBuffer.recordAccess(study.getId());
+
+        // 해쉬태그는 바뀐 것만 반영한다. 빠진 태그는 DELETE 한 번, 추가된 태그는 batch INSERT
+        Set<String> requested = studyDto.getHashTags() == null
+                ? new LinkedHashSet<>()
+                : new LinkedHashSet<>(studyDto.getHashTags());
+        Set<String> existing = study.getHashTags().stream()
+                .map(StudyHashTag::getHashTag)
+                .collect(Collectors.toSet());
+        Set<String> removed = new HashSet<>(existing);
+        removed.removeAll(requested);
+        List<StudyHashTag> hashTags = study.getHashTags().stream()
+                .filter(h -> !removed.contains(h.getHashTag()))
+                .collect(Collectors.toList());
+        List<StudyHashTag> added = requested.stream()
+                .filter(tag -> !existing.contains(tag))
+                .map(tag -> StudyHashTag.builder().study(study).hashTag(tag).build())
+                .collect(Collectors.toList());
+
+        if (!removed.isEmpty()) hashTagRepository.deleteHashTags(study.getId(), removed);
+        if (!added.isEmpty()) hashTagRepository.saveAll(added);
+        hashTags.addAll(added);
+        study.addHashTags(hashTags);
+        if (!removed.isEmpty() || !added.isEmpty()) eventPublisher.publishEvent(new StudyChangedEvent(study.getId()));
 
         StudyDto updatedStudy = StudyDto.of(study);
         return updatedStudy;
@@ -101,30 +112,28 @@ public class StudyServiceImpl implements StudyService{
     public ApiResult<String> deleteStudy(User user, Long studyId) {
         Study study = errorCheck(user, studyId);
 
-        List<StudyHashTag> hashTags = study.getHashTags();
-        hashTagRepository.deleteAll(hashTags);
-
-        List<Post> posts = postRepository.findPostByStudyId(studyId);
-        postRepository.deleteAll(posts);
-
-        List<Comment> comments = commentRepository.findAllByReferenceIdAndDepthAndCommentType(studyId, 0, CommentType.STUDY);
-        comments.forEach(commentRepository::recurDelete);
-
-        List<Joins> joins = joinsRepository.findJoinsByStudyId(studyId);
-        joinsRepository.deleteAll(joins);
-
-        studyRepository.delete(study);
+        // 삭제 표시만 하고, 게시글/자소서/댓글/해쉬태그는 StudyPurgeJob이 나눠서 지운다.
+        // 가입 목록은 스터디 정원 이하로 적고, 회원의 스터디 목록에서 바로 빠져야 하므로 여기서 지운다.
+        study.delete();
+        joinsRepository.deleteAllByStudyId(studyId);
+        eventPublisher.publishEvent(new StudyChangedEvent(studyId));
         return success("삭제 성공!");
     }
 
     @Override
     @Transactional
-    public Page<StudyDto> getAllStudies(List<String> hashTags, Pageable pageable) {
-        Page<Study> studies = studyRepository.findStudiesByHashtags(hashTags, pageable);
-        Page<StudyDto> studyDtos = studies.map(StudyDto::of);
+    public Page<StudyDto> getAllStudies(List<String> hashTags, boolean matchAll, Pageable pageable) {
+        Page<Study> studies = studyRepository.findStudiesByHashtags(hashTags, matchAll, pageable);
+        Page<StudyDto> studyDtos = studyDtoAssembler.toDtos(studies);
         return studyDtos;
     }
 
+    @Override
+    @Transactional
+    public CursorSlice<StudyDto> scrollStudies(List<String> hashTags, boolean matchAll, String sort, String cursor, int size) {
+        return studyDtoAssembler.toDtos(studyRepository.scrollStudiesByHashtags(hashTags, matchAll, sort, cursor, size));
+    }
+
     @Override
     public Study findStudyById(Long studyId) {
         return studyRepository.findStudyById(studyId);
@@ -135,6 +144,7 @@ public class StudyServiceImpl implements StudyService{
     public StudyDto findStudyWithUsers(Long studyId){
         Study study = studyRepository.findStudyById(studyId);
         StudyDto studyDto = StudyDto.of(study);
+        studyActivityBuffer.recordAccess(studyId);
         return studyDto;
     }
 
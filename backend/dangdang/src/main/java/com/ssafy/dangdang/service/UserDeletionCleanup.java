@@ -0,0 +1,40 @@
+package com.ssafy.dangdang.service;
+
+import com.ssafy.dangdang.config.security.jwt.RefreshTokenStore;
+import com.ssafy.dangdang.domain.event.UserDeletedEvent;
+import com.ssafy.dangdang.repository.CommentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 회원 탈퇴 후 MySQL 밖의 데이터(댓글, 리프레시 토큰)를 정리한다.
+ *  - Mongo와 Redis는 MySQL 트랜잭션에 묶이지 않으므로, 탈퇴가 롤백되었는데 댓글과 토큰만 지워지지 않도록 커밋 이후에 실행한다.
+ *  - 단계마다 따로 실패를 기록하므로 댓글 정리가 실패해도 토큰은 폐기된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDeletionCleanup {
+
+    private final CommentRepository commentRepository;
+    private final RefreshTokenStore refreshTokenStore;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        try {
+            refreshTokenStore.revokeAll(event.getEmail());
+        } catch (RuntimeException e) {
+            log.error("탈퇴 회원 리프레시 토큰 폐기 실패 : userId {}", event.getUserId(), e);
+        }
+        try {
+            if (event.isDeleteComments()) commentRepository.deleteAllByWriterId(event.getUserId());
+            else commentRepository.hideAllByWriterId(event.getUserId());
+            // 지운 게시글/자소서/스터디에 달린 댓글도 함께 지운다.
+            event.getReferences().forEach(commentRepository::deleteAllByReference);
+        } catch (RuntimeException e) {
+            log.error("탈퇴 회원 댓글 정리 실패 : userId {}", event.getUserId(), e);
+        }
+    }
+}
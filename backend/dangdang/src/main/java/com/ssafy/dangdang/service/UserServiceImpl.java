@@ -2,12 +2,18 @@ package com.ssafy.dangdang.service;
 
 import com.ssafy.dangdang.domain.*;
 import com.ssafy.dangdang.domain.dto.UserDto;
+import com.ssafy.dangdang.domain.event.InterviewQuestionChangedEvent;
+import com.ssafy.dangdang.domain.event.UserChangedEvent;
+import com.ssafy.dangdang.domain.event.UserDeletedEvent;
+import com.ssafy.dangdang.domain.event.UserProfileChangedEvent;
+import com.ssafy.dangdang.domain.types.CommentType;
 import com.ssafy.dangdang.domain.types.UserRoleType;
 import com.ssafy.dangdang.exception.ExtantUserException;
 import com.ssafy.dangdang.exception.UnauthorizedAccessException;
 import com.ssafy.dangdang.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -15,7 +21,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -24,15 +32,19 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService{
 
     private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
     private final InterviewQuestionRepository interviewQuestionRepository;
     private final InterviewBookmarkRepository bookmarkRepository;
+    private final InterviewBookmarkStore bookmarkStore;
     private final PostRepository postRepository;
     private final JoinsRepository joinsRepository;
+    private final StudyRepository studyRepository;
+    private final StudyPurgeJob studyPurgeJob;
     private final PasswordEncoder passwordEncoder;
 
     private final ResumeRepository resumeRepository;
     private final ResumeQuestionRepository resumeQuestionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public void signUpUser(UserDto userDto) {
@@ -62,6 +74,7 @@ public class UserServiceImpl implements UserService{
 
         //if(!this.idCheck(userDto)) throw new ExtantUserException("존재하지 않는 유저 입니다");
 
+        String oldEmail = user.getEmail();
         String encryptedPassword = user.getPassword();
         if (userDto.getPassword() != null && !userDto.getPassword().equals("")){
             String password = userDto.getPassword();
@@ -79,13 +92,9 @@ public class UserServiceImpl implements UserService{
                 .build();
         userRepository.save(user);
 
-        List<Comment> comments = commentRepository.findCommentByWriterEmail(user.getEmail());
-        for (Comment comment : comments){
-            comment.setWriterEmail(userDto.getEmail());
-            comment.setWriterNickname(userDto.getNickName());
-        }
-        commentRepository.saveAll(comments);
-
+        // 댓글의 작성자 정보는 커밋 이후에 CommentWriterSync가 한 번에 고친다.
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId(), user.getNickname(), user.getEmail(), user.getImageUrl()));
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), oldEmail, user.getEmail()));
     }
 
     @Override
@@ -94,9 +103,8 @@ public class UserServiceImpl implements UserService{
         // 컨트롤러에서 넘어온 유저는 OSIV 옵션이 꺼져있으면 준영속상태이기 때문에, 다시 조회해서 영속상태인 객체에서 값을 변경해야 더티체킹이 일어난다.
         user = userRepository.findById(user.getId()).get();
         user.addImageUrl(uuid + file.getOriginalFilename());
-        List<Comment> comments = commentRepository.findCommentByWriterEmail(user.getEmail());
-        for (Comment comment : comments) comment.setWriterImageUrl(uuid + file.getOriginalFilename());
-        commentRepository.saveAll(comments);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId(), user.getNickname(), user.getEmail(), user.getImageUrl()));
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
     }
 
     @Override
@@ -107,55 +115,52 @@ public class UserServiceImpl implements UserService{
     @Override
     @Transactional
     public boolean deleteUser(User user, String password) {
+        if (!passwordEncoder.matches(password, user.getPassword())) return false;
 
-        List<Joins> joins = joinsRepository.findJoinsByUser(user);
-        for (Joins join : joins) if (join.getStudy().getHost().getEmail().equals(user.getEmail())) throw new UnauthorizedAccessException("스터디 장은 회원 탈퇴를 할 수없습니다.");
-
-        List<InterviewBookmark> bookmarks = bookmarkRepository.findInterviewBookmarksByUserId(user.getId());
-        bookmarkRepository.deleteAll(bookmarks);
-        List<InterviewQuestion> allByWriter = interviewQuestionRepository.findAllByWriter(user.getId());
-        interviewQuestionRepository.deleteAll(allByWriter);
-        List<Resume> resumes = resumeRepository.findAllByUserId(user.getId());
-        for (Resume r : resumes) {
-            List<ResumeQuestion> allByResume = resumeQuestionRepository.findAllByResume(r);
-            resumeQuestionRepository.deleteAll(allByResume);
-        }
-        resumeRepository.deleteAll(resumes);
-
-        List<Post> posts = postRepository.findPostByWriterId(user.getId());
-        postRepository.deleteAll(posts);
-
-        joinsRepository.deleteAll(joins);
-
-
-
-        //TODO: 유저가 단 댓글을 삭제할 지 정해야함
-            if (passwordEncoder.matches(password, user.getPassword())) {
-
-                //TODO: 나중에 벌크 수정 쿼리로 바꾸기
-                List<Comment> comments = commentRepository.findCommentByWriterEmail(user.getEmail());
-//                comments.forEach(Comment::disappear);
-                commentRepository.deleteAll(comments);
-
-                userRepository.delete(user);
-                return true;
-            }
-            return false;
-
+        deleteUserData(user, true);
+        return true;
     }
 
     @Override
     @Transactional
     public boolean deleteUser(User user) {
-
-        //TODO: 나중에 벌크 수정 쿼리로 바꾸기
-        List<Comment> comments = commentRepository.findCommentByWriterEmail(user.getEmail());
-        comments.forEach(Comment::disappear);
-        commentRepository.saveAll(comments);
-
-        userRepository.delete(user);
+        deleteUserData(user, false);
         return true;
+    }
 
+    /**
+     * 회원과 회원이 작성한 데이터를 회원 id 기준의 벌크 DELETE로 지운다.
+     * 엔티티를 하나씩 조회하지 않으므로 작성한 글이 많아도 쿼리 수가 일정하다.
+     * 댓글(Mongo)과 리프레시 토큰(Redis)은 커밋 이후에 UserDeletionCleanup이 정리한다. 회원이 작성한 댓글은 deleteComments면 지우고 아니면 숨긴다.
+     */
+    private void deleteUserData(User user, boolean deleteComments) {
+        Long userId = user.getId();
+        if (studyRepository.existsByHostId(userId)) throw new UnauthorizedAccessException("스터디 장은 회원 탈퇴를 할 수없습니다.");
+        // 삭제 표시만 된 스터디가 남아있으면 스터디장 참조 때문에 회원을 지울 수 없으므로 먼저 정리한다. (댓글은 커밋 이후에 지운다)
+        Map<CommentType, List<Long>> references = studyPurgeJob.purgeHostedBy(userId);
+
+        // 아직 MySQL에 쓰지 않은 북마크가 탈퇴 이후에 다시 쓰이지 않도록 Redis부터 지운다.
+        bookmarkStore.forgetUser(userId);
+        interviewQuestionRepository.releaseBookmarksOf(userId);
+        bookmarkRepository.deleteAllRelatedToUser(userId);
+        interviewQuestionRepository.deleteAllByWriterId(userId);
+
+        List<Long> resumeIds = resumeRepository.findIdsByUserId(userId);
+        resumeQuestionRepository.deleteAllByUserId(userId);
+        resumeRepository.deleteAllByUserId(userId);
+
+        List<Long> postIds = postRepository.findIdsByWriterId(userId);
+        postRepository.deleteAllByWriterId(userId);
+
+        studyRepository.releaseSeatsOf(userId);
+        joinsRepository.deleteAllByUserId(userId);
+        userRepository.deleteUserById(userId);
+
+        references.computeIfAbsent(CommentType.POST, key -> new ArrayList<>()).addAll(postIds);
+        references.computeIfAbsent(CommentType.RESUME, key -> new ArrayList<>()).addAll(resumeIds);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId, user.getEmail(), references, deleteComments));
+        eventPublisher.publishEvent(InterviewQuestionChangedEvent.ofWriter(userId));
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
     }
 
     @Override
@@ -176,6 +181,7 @@ public class UserServiceImpl implements UserService{
         Optional<User> user = userRepository.findById(userId);
         if (!user.isPresent()) throw new NullPointerException("존재하지 않는 유저 입니다.");
         user.get().raiseToManager();
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.get().getEmail()));
     }
 
     @Override
@@ -184,6 +190,7 @@ public class UserServiceImpl implements UserService{
         Optional<User> user = userRepository.findById(userId);
         if (!user.isPresent()) throw new NullPointerException("존재하지 않는 유저 입니다.");
         user.get().raiseToAdmin();
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.get().getEmail()));
     }
 
 
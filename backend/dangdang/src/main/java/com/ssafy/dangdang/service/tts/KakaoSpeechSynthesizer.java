@@ -0,0 +1,56 @@
+package com.ssafy.dangdang.service.tts;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 카카오 Newtone TTS
+ * HttpConnectionConfig의 커넥션 풀 RestTemplate을 사용하고, 응답 본문은 문자열로 변환하지 않고 바이트 그대로 out에 복사한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "tts.synthesizer", havingValue = "kakao", matchIfMissing = true)
+public class KakaoSpeechSynthesizer implements SpeechSynthesizer {
+
+    private final RestTemplate restTemplate;
+    private final TtsProperties properties;
+
+    @Override
+    public String contentType() {
+        return "audio/mpeg";
+    }
+
+    @Override
+    public void synthesize(String voice, String text, OutputStream out) {
+        // 텍스트에 <, & 등이 있어도 SSML이 깨지지 않도록 이스케이프한다.
+        String ssml = "<speak><voice name=\"" + escape(voice) + "\">" + escape(text) + "</voice></speak>";
+        byte[] body = ssml.getBytes(StandardCharsets.UTF_8);
+        String apiKey = properties.getKakao().getApiKey();
+        if (apiKey == null || apiKey.isEmpty()) throw new IllegalStateException("tts.kakao.api-key(KAKAO_TTS_API_KEY)가 설정되지 않았습니다.");
+        restTemplate.execute(properties.getKakao().getUrl(), HttpMethod.POST,
+                request -> {
+                    HttpHeaders headers = request.getHeaders();
+                    headers.set(HttpHeaders.AUTHORIZATION, "KakaoAK " + apiKey);
+                    headers.setContentType(new MediaType(MediaType.APPLICATION_XML, StandardCharsets.UTF_8));
+                    headers.setContentLength(body.length);
+                    request.getBody().write(body);
+                },
+                response -> StreamUtils.copy(response.getBody(), out));
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&apos;");
+    }
+}
@@ -0,0 +1,18 @@
+package com.ssafy.dangdang.service.tts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 텍스트를 음성으로 합성하는 외부 API
+ * 합성한 오디오는 메모리에 모으지 않고 out에 그대로 쓴다.
+ */
+public interface SpeechSynthesizer {
+
+    /**
+     * 합성 결과의 Content-Type (예: audio/mpeg)
+     */
+    String contentType();
+
+    void synthesize(String voice, String text, OutputStream out) throws IOException;
+}
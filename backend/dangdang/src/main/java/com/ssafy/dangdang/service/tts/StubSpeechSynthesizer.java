@@ -0,0 +1,55 @@
+package com.ssafy.dangdang.service.tts;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 외부 API 없이 텍스트 길이에 비례한 무음 WAV를 만드는 합성기 (테스트/로컬용)
+ * 같은 입력에는 항상 같은 바이트를 돌려주고, 호출 횟수를 세서 캐시 적중 여부를 확인할 수 있다.
+ */
+@Component
+@ConditionalOnProperty(name = "tts.synthesizer", havingValue = "stub")
+public class StubSpeechSynthesizer implements SpeechSynthesizer {
+
+    private static final int SAMPLE_RATE = 8000;
+    // 글자당 50ms
+    private static final int SAMPLES_PER_CHAR = SAMPLE_RATE / 20;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public String contentType() {
+        return "audio/wav";
+    }
+
+    @Override
+    public void synthesize(String voice, String text, OutputStream out) throws IOException {
+        calls.incrementAndGet();
+        int samples = Math.max(1, text.length()) * SAMPLES_PER_CHAR;
+        ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1).putShort((short) 1)   // PCM, mono
+                .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE)    // sample rate, byte rate
+                .putShort((short) 1).putShort((short) 8)   // block align, 8bit
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples);
+        out.write(header.array());
+        // 8bit PCM의 무음은 128
+        byte[] silence = new byte[SAMPLES_PER_CHAR];
+        Arrays.fill(silence, (byte) 128);
+        for (int written = 0; written < samples; written += silence.length) out.write(silence);
+    }
+
+    public int calls() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,253 @@
+package com.ssafy.dangdang.service.tts;
+
+import com.ssafy.dangdang.util.HashUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 합성한 음성을 디스크에 저장해두는 캐시
+ * 면접 질문은 같은 문장이 계속 재생되므로, (Content-Type, 목소리, 텍스트)의 해시를 파일 이름으로 오디오 바이트를 그대로 저장한다.
+ *  - 전체 크기가 tts.cache.max-bytes를 넘으면 가장 오래 재생되지 않은 파일부터 지운다.
+ *  - 같은 텍스트를 동시에 요청하면 한 요청만 합성하고 나머지는 그 결과를 기다린다.
+ *    합성을 맡은 요청은 받는 대로 파일과 응답에 함께 쓸 수 있다. (tee)
+ *  - 합성 중인 파일은 임시 파일에 쓰고, 다 쓴 뒤에 이름을 바꾸므로 반쯤 쓴 파일이 읽히지 않는다.
+ *  - 시작 시 디렉토리의 파일로 색인을 다시 만든다. (수정 시각 순)
+ */
+@Slf4j
+@Component
+public class TtsAudioCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final SpeechSynthesizer synthesizer;
+    private final Path directory;
+    private final long maxBytes;
+
+    // 접근 순서 LinkedHashMap : 앞쪽이 가장 오래 사용되지 않은 파일
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public TtsAudioCache(SpeechSynthesizer synthesizer, TtsProperties properties) {
+        this.synthesizer = synthesizer;
+        String dir = properties.getCache().getDir();
+        this.directory = dir == null || dir.isEmpty()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "dangdang-tts")
+                : Paths.get(dir);
+        this.maxBytes = properties.getCache().getMaxBytes();
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        List<Path> cached = new ArrayList<>();
+        for (Path file : files) {
+            // 합성 도중에 종료되어 남은 임시 파일
+            if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) Files.deleteIfExists(file);
+            else cached.add(file);
+        }
+        cached.sort(Comparator.comparing(file -> {
+            try {
+                return Files.getLastModifiedTime(file);
+            } catch (IOException e) {
+                return FileTime.fromMillis(0);
+            }
+        }));
+        List<Path> evicted;
+        synchronized (this) {
+            for (Path file : cached) {
+                long size = Files.size(file);
+                sizes.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            }
+            evicted = evict(null);
+        }
+        delete(evicted);
+        log.info("TTS 캐시 : {} ({}개, {} bytes)", directory, sizes.size(), totalBytes);
+    }
+
+    public String contentType() {
+        return synthesizer.contentType();
+    }
+
+    /**
+     * 캐시된 파일이 있으면 반환하고, 없으면 합성해서 저장한 뒤 반환한다.
+     */
+    public Path get(String voice, String text) throws IOException {
+        return get(voice, text, null);
+    }
+
+    /**
+     * get(voice, text)와 같지만, 이 요청이 합성을 맡게 되면 합성되는 바이트를 파일과 tee에 함께 쓰고 null을 반환한다.
+     * 합성이 끝나기 전부터 tee로 음성을 보낼 수 있다. 다른 요청이 합성 중이면 끝날 때까지 기다렸다가 파일을 반환한다.
+     */
+    public Path get(String voice, String text, OutputStream tee) throws IOException {
+        String key = key(voice, text);
+        Path cached = lookup(key);
+        if (cached != null) return cached;
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) return await(running);
+        try {
+            // 앞서 합성하던 요청이 방금 끝났을 수 있다.
+            Path path = lookup(key);
+            if (path != null) {
+                mine.complete(path);
+                return path;
+            }
+            path = store(key, voice, text, tee);
+            mine.complete(path);
+            return tee == null ? path : null;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 합성하지 않고 캐시된 파일만 찾는다. 없으면 null
+     */
+    public Path find(String voice, String text) {
+        return lookup(key(voice, text));
+    }
+
+    private String key(String voice, String text) {
+        return HashUtil.sha256(synthesizer.contentType() + "\n" + voice + "\n" + text);
+    }
+
+    private Path lookup(String key) {
+        synchronized (this) {
+            if (sizes.get(key) == null) return null;
+        }
+        Path path = directory.resolve(key);
+        if (Files.exists(path)) return path;
+        // 디렉토리에서 지워진 파일
+        forget(key);
+        return null;
+    }
+
+    private Path store(String key, String voice, String text, OutputStream tee) throws IOException {
+        Path temp = directory.resolve(key + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        Path path = directory.resolve(key);
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 OutputStream out = tee == null ? file : new TeeOutputStream(file, tee)) {
+                synthesizer.synthesize(voice, text, out);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        long size = Files.size(path);
+        List<Path> evicted;
+        synchronized (this) {
+            Long old = sizes.put(key, size);
+            totalBytes += size - (old == null ? 0 : old);
+            evicted = evict(key);
+        }
+        delete(evicted);
+        return path;
+    }
+
+    private synchronized void forget(String key) {
+        Long size = sizes.remove(key);
+        if (size != null) totalBytes -= size;
+    }
+
+    // 방금 저장한 파일(keep)은 크기를 넘더라도 남긴다.
+    private List<Path> evict(String keep) {
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> iterator = sizes.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().equals(keep)) continue;
+            totalBytes -= entry.getValue();
+            evicted.add(directory.resolve(entry.getKey()));
+            iterator.remove();
+        }
+        return evicted;
+    }
+
+    // 파일 삭제는 락 밖에서 한다. 재생 중인 파일은 OS에 따라 지워지지 않을 수 있으므로 다음 시작 때 다시 정리된다.
+    private void delete(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("TTS 캐시 파일 삭제 실패 : {}", file, e);
+            }
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> running) throws IOException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("TTS 합성 대기 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 파일과 클라이언트에 함께 쓰는 스트림
+     * 받은 만큼 바로 클라이언트로 보내고, 클라이언트가 연결을 끊어도 파일은 끝까지 쓴다. 클라이언트 스트림은 컨테이너가 닫는다.
+     */
+    private static class TeeOutputStream extends OutputStream {
+
+        private final OutputStream file;
+        private final OutputStream client;
+        private boolean clientOpen = true;
+
+        TeeOutputStream(OutputStream file, OutputStream client) {
+            this.file = file;
+            this.client = client;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            file.write(b, off, len);
+            if (!clientOpen) return;
+            try {
+                client.write(b, off, len);
+                client.flush();
+            } catch (IOException e) {
+                clientOpen = false;
+                log.debug("TTS 스트리밍 중 클라이언트 연결 종료, 캐시 파일은 계속 씁니다 : {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            file.flush();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ssafy.dangdang.service.tts;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 음성을 메모리에 모으지 않고 응답으로 바로 보낸다.
+ *  - 캐시에 없으면 합성되는 대로 응답과 캐시 파일에 함께 쓴다. 길이를 모르므로 chunked로 보내고 Range는 무시한다.
+ *    이미 200과 음성 일부를 보낸 뒤에 합성이 실패하면 오류 응답을 쓸 수 없으므로, 로그만 남기고 잘린 음성으로 응답을 끝낸다. (캐시에는 남지 않는다)
+ *  - 캐시에 있으면 Content-Length와 Range(한 구간)를 처리하고, 파일은 FileChannel.transferTo로 보낸다.
+ *    Tomcat이 sendfile을 지원하면(SSL이 아닌 커넥터) 파일 전송을 Tomcat에 맡긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TtsAudioStreamer {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final TtsAudioCache cache;
+    private final TtsProperties properties;
+
+    public void stream(String text, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(cache.contentType());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        Path audio;
+        try {
+            audio = cache.get(properties.getVoice(), text, response.getOutputStream());
+        } catch (IOException | RuntimeException e) {
+            if (!response.isCommitted()) {
+                // 아직 아무것도 보내지 않았으면 음성용 헤더를 지우고 평소처럼 예외 응답을 보낸다.
+                response.reset();
+                throw e;
+            }
+            log.error("TTS 스트리밍 중 합성 실패, 잘린 음성으로 응답을 끝냅니다 : {}", text, e);
+            return;
+        }
+        if (audio == null) return;
+        try {
+            sendFile(audio, request, response);
+        } catch (NoSuchFileException e) {
+            // 파일을 여는 사이에 캐시에서 밀려난 경우, 한 번 더 받아온다.
+            sendFile(cache.get(properties.getVoice(), text), request, response);
+        }
+    }
+
+    private void sendFile(Path audio, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(audio, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+            HttpRange range = range(request.getHeader(HttpHeaders.RANGE));
+            if (range != null && length > 0) {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                if (start >= length || start > end) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setContentLengthLong(0);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            long count = end - start + 1;
+            response.setContentLengthLong(count);
+            if (count <= 0) return;
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, audio.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (count > 0) {
+                long sent = channel.transferTo(position, count, out);
+                if (sent <= 0) break;
+                position += sent;
+                count -= sent;
+            }
+        }
+    }
+
+    // 여러 구간을 요청하면 Range를 무시하고 전체를 보낸다.
+    private static HttpRange range(String header) {
+        if (header == null) return null;
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            ranges = Collections.emptyList();
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+}
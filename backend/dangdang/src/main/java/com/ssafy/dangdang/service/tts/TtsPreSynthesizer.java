@@ -0,0 +1,178 @@
+package com.ssafy.dangdang.service.tts;
+
+import com.ssafy.dangdang.domain.InterviewQuestion;
+import com.ssafy.dangdang.domain.dto.TtsWarmReport;
+import com.ssafy.dangdang.domain.dto.WorkerPoolStats;
+import com.ssafy.dangdang.domain.event.InterviewQuestionChangedEvent;
+import com.ssafy.dangdang.domain.types.InterviewField;
+import com.ssafy.dangdang.domain.types.InterviewJob;
+import com.ssafy.dangdang.repository.InterviewQuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 면접 질문 음성 미리 합성
+ * 질문이 작성되거나 공개되면 질문 문장을 합성해서 TtsAudioCache에 넣어두므로, 모의 면접에서는 처음 재생하는 질문도 캐시에서 바로 나간다.
+ *  - 동시에 합성하는 수는 pool-size로, 기다리는 작업 수는 queue-capacity로 제한한다. 대기열이 가득 차면 넣지 않는다.
+ *  - 실패하면 max-attempts 번까지 backoff를 늘려가며 다시 시도한다. 기다리는 동안 작업 스레드를 잡고 있지 않도록 재시도는 예약해서 다시 넣는다.
+ *  - 이미 캐시되어 있거나 대기 중인 문장은 다시 넣지 않는다. 사용자 요청과 겹치면 TtsAudioCache가 한 번만 합성한다.
+ *  - 캐시는 노드마다 있으므로, 질문이 바뀐 노드에서만 미리 합성된다.
+ */
+@Slf4j
+@Component
+public class TtsPreSynthesizer {
+
+    public enum Result { QUEUED, CACHED, PENDING, REJECTED }
+
+    private final TtsAudioCache cache;
+    private final TtsProperties properties;
+    private final InterviewQuestionRepository interviewQuestionRepository;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0L);
+
+    public TtsPreSynthesizer(TtsAudioCache cache,
+                             TtsProperties properties,
+                             InterviewQuestionRepository interviewQuestionRepository) {
+        this.cache = cache;
+        this.properties = properties;
+        this.interviewQuestionRepository = interviewQuestionRepository;
+        TtsProperties.PreSynthesis config = properties.getPreSynthesis();
+        this.queueCapacity = config.getQueueCapacity();
+        this.maxAttempts = config.getMaxAttempts();
+        this.backoffMillis = config.getBackoffMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(config.getPoolSize(), config.getPoolSize(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "tts-pre-synthesis-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tts-pre-synthesis-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 작성/공개 이후의 상태를 읽어야 하므로 커밋 이후에 반영한다. 숨김/삭제된 질문은 건너뛴다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(InterviewQuestionChangedEvent event) {
+        if (event.getQuestionId() == null) return;
+        Optional<InterviewQuestion> question = interviewQuestionRepository.findById(event.getQuestionId());
+        if (!question.isPresent() || !Boolean.TRUE.equals(question.get().getVisable())) return;
+        enqueue(question.get().getQuestion());
+    }
+
+    /**
+     * 공개된 질문 중 필드/직무에 해당하는 질문을 모두 대기열에 넣는다. null이면 조건에서 뺀다.
+     */
+    public TtsWarmReport warm(InterviewField field, InterviewJob job) {
+        List<String> texts = interviewQuestionRepository.findVisibleQuestionTexts(field, job);
+        int queued = 0, cached = 0, waiting = 0, rejectedCount = 0;
+        for (String text : texts) {
+            switch (enqueue(text)) {
+                case QUEUED: queued++; break;
+                case CACHED: cached++; break;
+                case PENDING: waiting++; break;
+                case REJECTED: rejectedCount++; break;
+            }
+        }
+        log.info("TTS 미리 합성 요청 : field {}, job {}, 대상 {}개, 대기열 {}개, 캐시 {}개, 거절 {}개",
+                field, job, texts.size(), queued, cached, rejectedCount);
+        return TtsWarmReport.builder()
+                .total(texts.size())
+                .queued(queued)
+                .cached(cached)
+                .pending(waiting)
+                .rejected(rejectedCount)
+                .build();
+    }
+
+    public Result enqueue(String text) {
+        if (text == null || text.trim().isEmpty()) return Result.CACHED;
+        if (cache.find(properties.getVoice(), text) != null) return Result.CACHED;
+        if (!pending.add(text)) return Result.PENDING;
+        return submit(text, 1, System.nanoTime()) ? Result.QUEUED : Result.REJECTED;
+    }
+
+    public WorkerPoolStats stats() {
+        long count = completed.sum();
+        return WorkerPoolStats.builder()
+                .poolSize(executor.getMaximumPoolSize())
+                .activeCount(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .completedCount(count)
+                .rejectedCount(rejected.sum())
+                .failedCount(failed.sum())
+                .averageLatencyMillis(count == 0 ? 0 : totalLatencyNanos.sum() / (double) count / 1_000_000)
+                .maxLatencyMillis(TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private boolean submit(String text, int attempt, long start) {
+        try {
+            executor.execute(() -> synthesize(text, attempt, start));
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(text);
+            rejected.increment();
+            log.warn("TTS 미리 합성 대기열 초과 : queue {}/{}", executor.getQueue().size(), queueCapacity);
+            return false;
+        }
+    }
+
+    private void synthesize(String text, int attempt, long start) {
+        try {
+            cache.get(properties.getVoice(), text);
+            pending.remove(text);
+            long elapsed = System.nanoTime() - start;
+            completed.increment();
+            totalLatencyNanos.add(elapsed);
+            maxLatencyNanos.accumulate(elapsed);
+        } catch (Exception e) {
+            if (attempt >= maxAttempts) {
+                pending.remove(text);
+                failed.increment();
+                log.warn("TTS 미리 합성 실패 ({}/{}) : {}", attempt, maxAttempts, text, e);
+                return;
+            }
+            log.debug("TTS 미리 합성 재시도 ({}/{}) : {}", attempt, maxAttempts, e.getMessage());
+            try {
+                retryScheduler.schedule(() -> submit(text, attempt + 1, start),
+                        backoffMillis << (attempt - 1), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shutdown) {
+                pending.remove(text);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ssafy.dangdang.service.tts;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties("tts")
+public class TtsProperties {
+
+    // kakao 또는 stub (테스트/로컬용, 외부 API를 호출하지 않는다)
+    private String synthesizer = "kakao";
+    private String voice = "MAN_READ_CALM";
+
+    private Kakao kakao = new Kakao();
+    private Cache cache = new Cache();
+    private PreSynthesis preSynthesis = new PreSynthesis();
+
+    @Getter
+    @Setter
+    public static class Kakao {
+        private String url = "https://kakaoi-newtone-openapi.kakao.com/v1/synthesize";
+        private String apiKey;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private String dir;
+        private long maxBytes = 512L * 1024 * 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class PreSynthesis {
+        private int poolSize = 2;
+        private int queueCapacity = 1000;
+        private int maxAttempts = 4;
+        private long backoffMillis = 2000;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ssafy.dangdang.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 크기 제한과 만료 시간을 함께 가지는 프로세스 내 LRU 캐시
+ * 엔트리마다 만료 시각(epoch millis)을 따로 지정할 수 있어서, JWT처럼 값 자체에 만료가 있는 경우에 사용한다.
+ */
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<K, Timed<V>> entries;
+
+    public ExpiringCache(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize는 0보다 커야 합니다.");
+        this.maxSize = maxSize;
+        // accessOrder = true 로 두어 가장 오래 사용되지 않은 엔트리부터 밀려나게 한다.
+        this.entries = new LinkedHashMap<K, Timed<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Timed<V>> eldest) {
+                return size() > ExpiringCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Timed<V> timed = entries.get(key);
+        if (timed == null) return null;
+        if (timed.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return timed.value;
+    }
+
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) return;
+        entries.put(key, new Timed<>(value, expiresAtMillis));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // 값과 만료 시각 (LinkedHashMap 안에서 Map.Entry와 헷갈리지 않도록 Entry라는 이름을 쓰지 않는다)
+    private static final class Timed<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Timed(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
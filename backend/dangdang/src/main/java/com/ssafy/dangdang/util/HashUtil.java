@@ -0,0 +1,30 @@
+package com.ssafy.dangdang.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+public class HashUtil {
+
+    private HashUtil() {
+    }
+
+    /**
+     * SHA-256 다이제스트를 URL-safe Base64(패딩 없음, 43자)로 반환
+     * 토큰 원문 대신 캐시/Redis 키로 사용한다.
+     */
+    public static String sha256(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sha256Bytes(value));
+    }
+
+    public static byte[] sha256Bytes(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return digest.digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM은 SHA-256을 지원해야 한다.
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.ssafy.dangdang.util;
 
+import com.ssafy.dangdang.config.security.jwt.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -30,7 +32,17 @@ public class JwtUtil {
     public final static String REFRESH_TOKEN_PREFIX = "Refresh Bearer ";
     public final static String HEADER_STRING = "authorization";
     public final static String REFRESH_HEADER_STRING = "refreshtoken";
+    // 검증 캐시에 보관할 최대 토큰 수
+    private final static int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
 
+    // Key와 JwtParser는 불변이고 thread-safe 하므로 한 번만 만들어서 재사용한다.
+    private final Key signingKey = getSigningKey(SECRET_KEY);
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+
+    // 토큰 다이제스트 -> 검증 결과, 토큰 만료 시각이 지나면 자동으로 무효화된다.
+    private final ExpiringCache<String, VerifiedToken> verifiedTokens = new ExpiringCache<>(VERIFIED_TOKEN_CACHE_SIZE);
 
     private Key getSigningKey(String secretKey) {
         byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
@@ -38,20 +50,32 @@ public class JwtUtil {
     }
 
     public Claims extractAllClaims(String token) throws ExpiredJwtException {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey(SECRET_KEY))
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
+    /**
+     * 토큰을 한 번만 파싱/서명 검증해서 불변 클레임 뷰로 반환한다.
+     * 이미 검증된 토큰은 다이제스트로 캐시에서 꺼내므로 HMAC 연산을 다시 하지 않는다.
+     * 만료된 토큰이면 ExpiredJwtException을 던진다.
+     */
+    public VerifiedToken verify(String token) throws ExpiredJwtException {
+        String digest = HashUtil.sha256(token);
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) return cached;
+
+        VerifiedToken verified = VerifiedToken.of(digest, extractAllClaims(token));
+        verifiedTokens.put(digest, verified, verified.getExpirationMillis());
+        return verified;
+    }
+
     public String getUsername(String token) {
-        return extractAllClaims(token).get("username", String.class);
+        return verify(token).getUsername();
     }
 
     public Boolean isTokenExpired(String token) {
-        final Date expiration = extractAllClaims(token).getExpiration();
-        return expiration.before(new Date());
+        return verify(token).isExpired();
     }
 
     public String generateToken(String username) {
@@ -71,16 +95,18 @@ public class JwtUtil {
                 .setClaims(claims)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expireTime))
-                .signWith(getSigningKey(SECRET_KEY), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
 
         return jwt;
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsername(token);
+        return validateToken(verify(token), userDetails);
+    }
 
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public Boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return (token.getUsername().equals(userDetails.getUsername()) && !token.isExpired());
     }
 
 }
@@ -0,0 +1,124 @@
+package com.ssafy.dangdang.comment;
+
+import com.ssafy.dangdang.domain.Comment;
+import com.ssafy.dangdang.domain.types.CommentType;
+import com.ssafy.dangdang.service.CommentIndexManager;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 댓글 수에 따른 최상위 댓글 목록 조회 시간 (인덱스 없음 / 선언한 인덱스)
+ * 기본 빌드에서는 제외되고, ./gradlew benchmark 로 실행한다.
+ * 크기는 -Dbenchmark.comment.sizes=10000,100000 으로 바꿀 수 있다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class CommentListingBenchmark {
+
+    private static final String COLLECTION = "comment_benchmark";
+    private static final int REFERENCES = 1000;
+    private static final int PAGE_SIZE = 10;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private CommentIndexManager commentIndexManager;
+
+    @AfterEach
+    public void dropCollection() {
+        mongoTemplate.dropCollection(COLLECTION);
+    }
+
+    @Test
+    public void listingLatencyByCollectionSize() {
+        String[] sizes = System.getProperty("benchmark.comment.sizes", "10000,100000,500000").split(",");
+        System.out.println("comments\tno index p50/p95(ms)\tindexed p50/p95(ms)");
+        for (String size : sizes) {
+            int count = Integer.parseInt(size.trim());
+            mongoTemplate.dropCollection(COLLECTION);
+            fill(count);
+
+            double[] scan = measure();
+            commentIndexManager.ensureIndexes(Comment.class, COLLECTION);
+            double[] indexed = measure();
+            System.out.printf("%d\t%.2f / %.2f\t%.2f / %.2f%n", count, scan[0], scan[1], indexed[0], indexed[1]);
+
+            assertThat(winningPlan()).contains("IXSCAN").doesNotContain("COLLSCAN");
+        }
+    }
+
+    private void fill(int count) {
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        List<Comment> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(Comment.builder()
+                    .content("benchmark " + i)
+                    .referenceId((long) (i % REFERENCES))
+                    .commentType(typeOf(i % REFERENCES))
+                    .depth(i % 4 == 0 ? 1 : 0)
+                    .writerId((long) (i % 5000))
+                    .createdAt(base.plusSeconds(i))
+                    .updatedAt(base.plusSeconds(i))
+                    .visable(true)
+                    .build());
+            if (batch.size() == 5000) {
+                mongoTemplate.insert(batch, COLLECTION);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) mongoTemplate.insert(batch, COLLECTION);
+    }
+
+    // 무작위 게시글의 최상위 댓글 첫 페이지를 조회하는 시간의 p50, p95
+    private double[] measure() {
+        long[] elapsed = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long referenceId = (i * 7919L) % REFERENCES;
+            long start = System.nanoTime();
+            mongoTemplate.find(page(referenceId), Comment.class, COLLECTION);
+            elapsed[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(elapsed);
+        return new double[]{
+                elapsed[ITERATIONS / 2] / 1_000_000.0,
+                elapsed[ITERATIONS * 95 / 100] / 1_000_000.0};
+    }
+
+    private Query page(long referenceId) {
+        return Query.query(Criteria.where("referenceId").is(referenceId)
+                        .and("commentType").is(typeOf(referenceId).name())
+                        .and("depth").is(0))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(PAGE_SIZE);
+    }
+
+    private static CommentType typeOf(long referenceId) {
+        return CommentType.values()[(int) (referenceId % CommentType.values().length)];
+    }
+
+    private String winningPlan() {
+        Query query = page(1L);
+        Document explain = mongoTemplate.getCollection(COLLECTION)
+                .find(query.getQueryObject())
+                .sort(query.getSortObject())
+                .limit(PAGE_SIZE)
+                .explain();
+        return ((Document) explain.get("queryPlanner")).get("winningPlan", Document.class).toJson();
+    }
+}
@@ -0,0 +1,133 @@
+package com.ssafy.dangdang.interviewQuestion;
+
+import com.ssafy.dangdang.domain.event.InterviewQuestionChangedEvent;
+import com.ssafy.dangdang.domain.types.InterviewField;
+import com.ssafy.dangdang.domain.types.InterviewJob;
+import com.ssafy.dangdang.repository.support.InterviewQuestionSearchIndex;
+import com.ssafy.dangdang.repository.support.InterviewQuestionSearchIndex.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 검색 색인을 스프링 없이 검증한다. DB는 [id, field, job, visable, writerId, question, answer] 행 목록으로 흉내낸다.
+ */
+public class InterviewQuestionSearchIndexTest {
+
+    private static final long WRITER = 1L;
+    private static final long OTHER = 2L;
+
+    private final Map<Long, Object[]> rows = new TreeMap<>();
+    private InterviewQuestionSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        save(1L, true, WRITER, "자바의 가상 머신에 대해 설명해주세요.", "JVM은 스프링과 무관하게 바이트코드를 실행합니다.");
+        save(2L, true, OTHER, "스프링의 IoC 컨테이너란?", "자바 객체의 생성과 의존성을 관리합니다.");
+        save(3L, false, OTHER, "자바스크립트의 클로저란?", "비공개 질문입니다.");
+        save(4L, true, OTHER, "C++ 와 자바, 차이점은?", "메모리 관리 방식이 다릅니다.");
+
+        index = new InterviewQuestionSearchIndex(entityManager(),
+                mock(StringRedisTemplate.class), mock(RedisMessageListenerContainer.class));
+        index.rebuild();
+    }
+
+    @Test
+    public void findKoreanSubstring() {
+        // "자바의", "자바스크립트", "자바," 처럼 뒤에 글자가 붙어도 찾는다.
+        assertThat(search("자바", null, null, Scope.ALL)).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(search("가상 머신", null, null, Scope.ALL)).containsExactly(1L);
+    }
+
+    @Test
+    public void findSingleCharacterTerm() {
+        assertThat(search("란", null, null, Scope.ALL)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(search("?", null, null, Scope.ALL)).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    @Test
+    public void findTermSpanningPunctuationAndSpace() {
+        assertThat(search("c++ 와", null, null, Scope.ALL)).containsExactly(4L);
+        assertThat(search("자바, 차이", null, null, Scope.ALL)).containsExactly(4L);
+        // 원문에 없는 띄어쓰기는 찾지 않는다. (LIKE와 같다)
+        assertThat(search("자바 의", null, null, Scope.ALL)).isEmpty();
+    }
+
+    @Test
+    public void questionAndAnswerMustBothMatch() {
+        assertThat(search(null, "자바", null, Scope.ALL)).containsExactly(2L);
+        assertThat(search("스프링", "자바", null, Scope.ALL)).containsExactly(2L);
+        assertThat(search("자바", "스프링", null, Scope.ALL)).containsExactly(1L);
+        assertThat(search("스프링", "스프링", null, Scope.ALL)).isEmpty();
+    }
+
+    @Test
+    public void filterByScope() {
+        assertThat(search("자바", null, OTHER, Scope.VISIBLE_OR_MINE)).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(search("자바", null, WRITER, Scope.VISIBLE_OR_MINE)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(search("자바", null, null, Scope.VISIBLE_OR_MINE)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(search("자바", null, WRITER, Scope.MINE)).containsExactly(1L);
+        assertThat(index.search(InterviewField.인성.name(), null, "자바", null, null, Scope.ALL)).isEmpty();
+    }
+
+    @Test
+    public void refreshAfterHideAndDelete() {
+        save(1L, false, WRITER, "자바의 가상 머신에 대해 설명해주세요.", "JVM은 스프링과 무관하게 바이트코드를 실행합니다.");
+        index.onQuestionChanged(InterviewQuestionChangedEvent.ofQuestion(1L));
+        assertThat(search("자바", null, OTHER, Scope.VISIBLE_OR_MINE)).containsExactlyInAnyOrder(3L, 4L);
+        assertThat(search("자바", null, WRITER, Scope.VISIBLE_OR_MINE)).containsExactlyInAnyOrder(1L, 4L);
+
+        rows.remove(4L);
+        index.onQuestionChanged(InterviewQuestionChangedEvent.ofQuestion(4L));
+        assertThat(search("자바", null, null, Scope.ALL)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(search("메모리", null, null, Scope.ALL)).isEmpty();
+
+        // 작성자 탈퇴 : 작성자의 질문이 모두 빠진다.
+        rows.values().removeIf(row -> row[4].equals(OTHER));
+        index.onQuestionChanged(InterviewQuestionChangedEvent.ofWriter(OTHER));
+        assertThat(search("자바", null, null, Scope.ALL)).containsExactly(1L);
+        assertThat(search("스프링", null, null, Scope.ALL)).isEmpty();
+    }
+
+    private List<Long> search(String question, String answer, Long viewerId, Scope scope) {
+        return index.search(null, null, question, answer, viewerId, scope);
+    }
+
+    private void save(Long id, boolean visible, Long writerId, String question, String answer) {
+        rows.put(id, new Object[]{id, InterviewField.기술, InterviewJob.IT, visible, writerId, question, answer});
+    }
+
+    // rebuild(q.id > :lastId), refresh(q.id = :id / q.writer.id = :id)가 보내는 JPQL만 흉내낸다.
+    @SuppressWarnings("unchecked")
+    private EntityManager entityManager() {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenAnswer(invocation -> {
+            String jpql = invocation.getArgument(0);
+            Map<String, Object> parameters = new HashMap<>();
+            TypedQuery<Object[]> query = mock(TypedQuery.class);
+            when(query.setParameter(anyString(), any())).thenAnswer(set -> {
+                parameters.put(set.getArgument(0), set.getArgument(1));
+                return query;
+            });
+            when(query.setMaxResults(anyInt())).thenReturn(query);
+            when(query.getResultList()).thenAnswer(result -> rows.values().stream().filter(row -> {
+                if (jpql.contains("q.id > :lastId")) return (Long) row[0] > (Long) parameters.get("lastId");
+                if (jpql.contains("q.writer.id = :id")) return row[4].equals(parameters.get("id"));
+                return row[0].equals(parameters.get("id"));
+            }).collect(Collectors.toList()));
+            return query;
+        });
+        return entityManager;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ssafy.dangdang.study;
+
+import com.ssafy.dangdang.domain.Study;
+import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.domain.dto.StudyDto;
+import com.ssafy.dangdang.exception.ExceedFixedNumber;
+import com.ssafy.dangdang.repository.JoinsRepository;
+import com.ssafy.dangdang.repository.StudyRepository;
+import com.ssafy.dangdang.service.JoinsService;
+import com.ssafy.dangdang.service.StudyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(StudyFixture.class)
+public class JoinsServiceTest {
+
+    @Autowired
+    private JoinsService joinsService;
+    @Autowired
+    private StudyRepository studyRepository;
+    @Autowired
+    private JoinsRepository joinsRepository;
+    @Autowired
+    private StudyService studyService;
+    @Autowired
+    private StudyFixture studyFixture;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 정원이 k인 스터디에 k보다 많은 신청과 수락이 동시에 들어와도 가입 회원 수와 가입 완료된 인원은 정확히 k여야 한다.
+    @Test
+    public void concurrentJoinAndAcceptNeverExceedNumber() throws Exception {
+        int number = 5;
+        int applicants = 20;
+        User host = studyFixture.user("seat-host");
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < applicants; i++) users.add(studyFixture.user("seat-user" + i));
+        Long studyId = studyFixture.study("seat-study", host, number, 1).getId();
+
+        List<Long> joined = runConcurrently(users, user -> joinsService.joinStudy(user, studyId));
+        assertThat(joined).hasSize(applicants).allMatch(id -> id > 0);
+
+        List<Long> accepted = runConcurrently(users, user -> joinsService.acceptUser(host, user.getId(), studyId));
+        assertThat(accepted).hasSize(number - 1);
+
+        assertThat(studyRepository.findById(studyId).get().getMemberCount()).isEqualTo(number);
+        assertThat(joinsRepository.findAcceptedJoinsWithUserByStudyIds(Collections.singletonList(studyId))).hasSize(number);
+    }
+
+    // 스터디를 수정하는 동안 다른 트랜잭션에서 가입을 수락해도, 수정이 읽어둔 회원 수로 덮어쓰지 않아야 한다.
+    @Test
+    public void updateStudyKeepsSeatReservedMeanwhile() {
+        User host = studyFixture.user("edit-host");
+        User member = studyFixture.user("edit-member");
+        Study study = studyFixture.study("edit-study", host, 5, 1);
+        Long studyId = study.getId();
+        studyFixture.join(member, study, true);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // 회원 수 1인 스터디를 영속성 컨텍스트에 올려둔 뒤
+            studyRepository.findById(studyId).get();
+            // 다른 트랜잭션에서 가입을 수락하고 커밋한다.
+            CompletableFuture.runAsync(() -> joinsService.acceptUser(host, member.getId(), studyId)).join();
+            studyService.updateStudy(host, StudyDto.builder().id(studyId).name("edit-study-renamed").number(5).build());
+        });
+
+        Study updated = studyRepository.findById(studyId).get();
+        assertThat(updated.getName()).isEqualTo("edit-study-renamed");
+        assertThat(updated.getMemberCount()).isEqualTo(2);
+    }
+
+    // 모든 작업을 동시에 시작하고, 정원 초과로 거절된 작업을 뺀 결과를 반환한다.
+    private List<Long> runConcurrently(List<User> users, Function<User, Long> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (User user : users) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return task.apply(user);
+                } catch (ExceedFixedNumber e) {
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        List<Long> results = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            Long result = future.get(30, TimeUnit.SECONDS);
+            if (result != null) results.add(result);
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    @AfterEach
+    public void deleteSeeded() {
+        studyFixture.clear();
+    }
+}
@@ -0,0 +1,81 @@
+package com.ssafy.dangdang.study;
+
+import com.ssafy.dangdang.domain.Joins;
+import com.ssafy.dangdang.domain.Study;
+import com.ssafy.dangdang.domain.StudyHashTag;
+import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.domain.types.UserRoleType;
+import com.ssafy.dangdang.repository.JoinsRepository;
+import com.ssafy.dangdang.repository.StudyHashTagRepository;
+import com.ssafy.dangdang.repository.StudyRepository;
+import com.ssafy.dangdang.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 커밋된 상태가 필요한 테스트(동시성, 다른 커넥션에서 읽는 색인)용 스터디 데이터
+ * 만든 데이터의 id를 모아두었다가 clear()에서 그 id로만 지운다. @Import(StudyFixture.class)로 사용한다.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class StudyFixture {
+
+    private final UserRepository userRepository;
+    private final StudyRepository studyRepository;
+    private final JoinsRepository joinsRepository;
+    private final StudyHashTagRepository studyHashTagRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> studyIds = new ArrayList<>();
+    private final List<Long> hashTagIds = new ArrayList<>();
+
+    public User user(String nickname) {
+        User user = userRepository.save(User.builder()
+                .nickname(nickname)
+                .email(nickname + "@ssafy.com")
+                .role(UserRoleType.USER)
+                .build());
+        userIds.add(user.getId());
+        return user;
+    }
+
+    // 스터디장이 가입 완료된 스터디, memberCount는 스터디장을 포함한 가입 완료 회원 수
+    public Study study(String name, User host, int number, int memberCount, String... hashTags) {
+        Study study = studyRepository.save(Study.builder()
+                .name(name)
+                .host(host)
+                .number(number)
+                .memberCount(memberCount)
+                .totalTime(0)
+                .build());
+        studyIds.add(study.getId());
+        join(host, study, false);
+        for (String hashTag : hashTags) {
+            hashTagIds.add(studyHashTagRepository.save(StudyHashTag.builder().study(study).hashTag(hashTag).build()).getId());
+        }
+        return study;
+    }
+
+    public Joins join(User user, Study study, boolean waiting) {
+        return joinsRepository.save(Joins.builder().user(user).study(study).waiting(waiting).build());
+    }
+
+    // 가입 목록은 테스트 중에 서비스가 만든 것까지 스터디 id로 지운다.
+    public void clear() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            studyIds.forEach(joinsRepository::deleteAllByStudyId);
+            studyHashTagRepository.deleteAllById(hashTagIds);
+            studyRepository.deleteAllById(studyIds);
+            userRepository.deleteAllById(userIds);
+        });
+        userIds.clear();
+        studyIds.clear();
+        hashTagIds.clear();
+    }
+}
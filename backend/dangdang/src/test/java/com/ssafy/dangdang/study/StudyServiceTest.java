@@ -2,25 +2,52 @@ package com.ssafy.dangdang.study;
 
 import com.ssafy.dangdang.domain.Study;
 import com.ssafy.dangdang.domain.User;
+import com.ssafy.dangdang.domain.dto.StudyDto;
+import com.ssafy.dangdang.domain.dto.UserDto;
 import com.ssafy.dangdang.repository.StudyRepository;
 import com.ssafy.dangdang.repository.UserRepository;
+import com.ssafy.dangdang.repository.support.StudyHashTagIndex;
+import com.ssafy.dangdang.service.StudyService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
-@SpringBootTest
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 배치 페치(default_batch_fetch_size)가 켜져 있으면 N+1이 IN 쿼리 하나로 묶여 드러나지 않으므로 이 테스트에서는 끈다.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.default_batch_fetch_size=1")
+@Import(StudyFixture.class)
 public class StudyServiceTest {
 
     @Autowired
     private StudyRepository studyRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private StudyService studyService;
+    @Autowired
+    private StudyFixture studyFixture;
+    @Autowired
+    private StudyHashTagIndex studyHashTagIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private static final String SEED_TAG = "statement-count";
+    private final List<Study> seededStudies = new ArrayList<>();
 
 
     @Test
@@ -67,4 +94,55 @@ public class StudyServiceTest {
     }
 
 
+    // 스터디 목록 조회 시 페이지 크기와 관계없이 실행되는 쿼리 수가 같아야 한다. (N+1 없음)
+    // 스터디 + 방장 1번, (해쉬태그 역색인이 없으면 count 1번), 멤버 1번, 해쉬태그 1번
+    @Test
+    public void getAllStudiesStatementCountIsConstant(){
+        seedStudies(10);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        List<Long> statementCounts = new ArrayList<>();
+        for (int size : new int[]{1, 5, 10}) {
+            statistics.clear();
+            Page<StudyDto> studies = studyService.getAllStudies(Collections.singletonList(SEED_TAG), false,
+                    PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id")));
+            statementCounts.add(statistics.getPrepareStatementCount());
+
+            assertThat(studies.getContent()).hasSize(size);
+            for (StudyDto study : studies.getContent()) {
+                int index = seededStudies.stream().map(Study::getId).collect(Collectors.toList()).indexOf(study.getId());
+                assertThat(index).isGreaterThanOrEqualTo(0);
+                assertThat(study.getHost().getNickName()).isEqualTo("statement-host" + index);
+                assertThat(study.getUserDtos()).extracting(UserDto::getNickName)
+                        .containsExactlyInAnyOrder("statement-host" + index, "statement-member" + index);
+                assertThat(study.getHashTags()).containsExactlyInAnyOrder(SEED_TAG, "statement-tag" + index);
+            }
+        }
+
+        assertThat(statementCounts).containsOnly(statementCounts.get(0));
+        assertThat(statementCounts.get(0)).isLessThanOrEqualTo(4L);
+    }
+
+    // 스터디마다 방장, 승인된 멤버, 대기 중인 멤버, 해쉬태그 2개를 만든다.
+    private void seedStudies(int count) {
+        for (int i = 0; i < count; i++) {
+            User host = studyFixture.user("statement-host" + i);
+            Study study = studyFixture.study("statement-study" + i, host, 6, 2, SEED_TAG, "statement-tag" + i);
+            studyFixture.join(studyFixture.user("statement-member" + i), study, false);
+            studyFixture.join(studyFixture.user("statement-waiting" + i), study, true);
+            seededStudies.add(study);
+        }
+        // 저장소로 직접 넣은 데이터는 역색인 갱신 이벤트가 없으므로 다시 만든다.
+        studyHashTagIndex.rebuild();
+    }
+
+    @AfterEach
+    public void deleteSeeded() {
+        if (seededStudies.isEmpty()) return;
+        studyFixture.clear();
+        seededStudies.clear();
+        studyHashTagIndex.rebuild();
+    }
+
 }
@@ -0,0 +1,69 @@
+package com.ssafy.dangdang.tts;
+
+import com.ssafy.dangdang.service.tts.StubSpeechSynthesizer;
+import com.ssafy.dangdang.service.tts.TtsAudioCache;
+import com.ssafy.dangdang.service.tts.TtsProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TtsAudioCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private TtsAudioCache cache(StubSpeechSynthesizer synthesizer, long maxBytes) throws Exception {
+        TtsProperties properties = new TtsProperties();
+        properties.getCache().setDir(directory.toString());
+        properties.getCache().setMaxBytes(maxBytes);
+        TtsAudioCache cache = new TtsAudioCache(synthesizer, properties);
+        cache.load();
+        return cache;
+    }
+
+    @Test
+    public void synthesizeOnceForConcurrentRequests() throws Exception {
+        StubSpeechSynthesizer synthesizer = new StubSpeechSynthesizer();
+        TtsAudioCache cache = cache(synthesizer, 1024 * 1024);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Path>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get("MAN_READ_CALM", "자기소개를 해주세요.");
+            }));
+        }
+        start.countDown();
+        for (Future<Path> result : results) assertThat(Files.size(result.get())).isGreaterThan(44);
+        executor.shutdown();
+
+        assertThat(synthesizer.calls()).isEqualTo(1);
+        cache.get("MAN_READ_CALM", "자기소개를 해주세요.");
+        assertThat(synthesizer.calls()).isEqualTo(1);
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedOverMaxBytes() throws Exception {
+        StubSpeechSynthesizer synthesizer = new StubSpeechSynthesizer();
+        // 10글자 = 44 + 4000 bytes, 두 개까지만 들어간다.
+        TtsAudioCache cache = cache(synthesizer, 9000);
+
+        Path first = cache.get("MAN_READ_CALM", "0123456789");
+        Path second = cache.get("MAN_READ_CALM", "abcdefghij");
+        cache.get("MAN_READ_CALM", "0123456789");
+        cache.get("MAN_READ_CALM", "ABCDEFGHIJ");
+
+        assertThat(Files.exists(first)).isTrue();
+        assertThat(Files.exists(second)).isFalse();
+        assertThat(cache.find("MAN_READ_CALM", "abcdefghij")).isNull();
+    }
+}
@@ -8,17 +8,10 @@ export async function ttsService(txt, volume) {
     method:"post",
     url: `${BACKEND_URL}/api/tts`,
     data: {text:txt},
+    // 서버가 음성 바이트를 그대로 보내므로 문자열로 디코딩하지 않는다.
+    responseType: "arraybuffer",
   }).then(async (res)=>{
-    // string을 arraybuffer로 바꾸는 과정
-    function str2ab(str) {
-      var buf = new ArrayBuffer(str.length);
-      var bufView = new Uint8Array(buf);
-      for (var i=0, strLen=str.length; i < strLen; i++) {
-        bufView[i] = str.charCodeAt(i);
-      }
-      return buf;
-    }
-    const arraybuffer = str2ab(res.data)
+    const arraybuffer = res.data
 
     const context=new AudioContext();
     // 사운드 조절을 위해 gainNode를 추가